@@ -19,10 +19,24 @@ import world.bentobox.bentobox.hooks.VaultHook;
 import world.bentobox.visit.commands.admin.VisitAdminCommand;
 import world.bentobox.visit.commands.player.VisitPlayerCommand;
 import world.bentobox.visit.configs.Settings;
-import world.bentobox.visit.listeners.IslandLeaveListener;
+import world.bentobox.visit.economy.AsyncEconomyBackend;
+import world.bentobox.visit.economy.BankEconomyBackend;
+import world.bentobox.visit.economy.EconomyBackend;
+import world.bentobox.visit.economy.EconomyLatency;
+import world.bentobox.visit.economy.MissingBankEconomyBackend;
+import world.bentobox.visit.economy.NoneEconomyBackend;
+import world.bentobox.visit.economy.VaultEconomyBackend;
+import world.bentobox.visit.listeners.IslandDirectoryListener;
+import world.bentobox.visit.listeners.OnlineMemberListener;
+import world.bentobox.visit.listeners.SpawnSafetyListener;
+import world.bentobox.visit.listeners.VisitorSessionListener;
 import world.bentobox.visit.managers.VisitAddonManager;
+import world.bentobox.visit.managers.VisitTransaction;
+import world.bentobox.visit.panels.PanelTemplateRegistry;
 
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 
 /**
@@ -56,6 +70,10 @@ public class VisitAddon extends Addon
             this.logError("Visit settings could not load! Addon disabled.");
             this.setState(State.DISABLED);
         }
+        else
+        {
+            this.validateSettings();
+        }
 
         ALLOW_VISITS_FLAG = new Flag.Builder("ALLOW_VISITS_FLAG", Material.PUMPKIN_PIE).
             type(Flag.Type.SETTING).
@@ -141,7 +159,14 @@ public class VisitAddon extends Addon
             this.registerFlag(ALLOW_VISITS_FLAG);
             this.registerFlag(RECEIVE_VISIT_MESSAGE_FLAG);
 
-            this.registerListener(new IslandLeaveListener(this));
+            this.registerListener(new IslandDirectoryListener(this));
+            this.registerListener(new OnlineMemberListener(this));
+            this.registerListener(new VisitorSessionListener(this));
+            this.registerListener(new SpawnSafetyListener(this));
+
+            // Parse panel templates once and reload them only when files are changed.
+            this.templateRegistry = new PanelTemplateRegistry(this);
+            this.templateRegistry.start("main_panel", "manage_panel");
 
             INSTANCE = this;
         }
@@ -153,6 +178,19 @@ public class VisitAddon extends Addon
     {
         super.allLoaded();
         this.hookExtensions();
+
+        if (this.addonManager != null)
+        {
+            // Islands are loaded only after all addons are loaded.
+            this.addonManager.buildIslandDirectories();
+            this.addonManager.getOnlineMemberIndex().build();
+            this.addonManager.getEarningsAccumulator().updateTask();
+            this.addonManager.getTeleportDispatcher().start();
+            this.addonManager.getHotIslandTracker().updateTask();
+
+            // Economy is hooked. Payments that were interrupted by server stop can be finished.
+            this.addonManager.getPaymentJournal().start();
+        }
     }
 
 
@@ -180,6 +218,17 @@ public class VisitAddon extends Addon
             this.logError("Visits settings could not load! Addon disabled.");
             this.setState(State.DISABLED);
         }
+        else if (this.addonManager != null)
+        {
+            this.validateSettings();
+
+            // Economy, default visit settings and visitor detection mode could be changed.
+            this.updateEconomyBackend();
+            this.addonManager.clearVisitProfiles();
+            this.addonManager.getVisitorSessionRegistry().updateTracking();
+            this.addonManager.getEarningsAccumulator().updateTask();
+            this.addonManager.getHotIslandTracker().updateTask();
+        }
     }
 
 
@@ -189,6 +238,46 @@ public class VisitAddon extends Addon
     @Override
     public void onDisable()
     {
+        if (this.addonManager != null)
+        {
+            // Deposit collected earnings before economy is stopped.
+            this.addonManager.getEarningsAccumulator().stop();
+        }
+
+        if (this.economyBackend instanceof AsyncEconomyBackend asyncBackend)
+        {
+            // Finish pending transactions.
+            asyncBackend.shutdown();
+            this.economyBackend = new NoneEconomyBackend();
+        }
+
+        if (this.addonManager != null)
+        {
+            // Economy is stopped. Write remaining payment steps to disk.
+            this.addonManager.getPaymentJournal().stop();
+            this.addonManager.getTeleportDispatcher().stop();
+            this.addonManager.getChunkPreloader().releaseAll();
+            this.addonManager.getHotIslandTracker().stop();
+            this.addonManager.getChunkTicketRegistry().releaseAll();
+            this.addonManager.getSafeSpotFinder().shutdown();
+
+            if (this.addonManager.getStageLatency(VisitTransaction.State.QUOTED).getCount() > 0)
+            {
+                this.log("Visit latency - " +
+                    Arrays.stream(VisitTransaction.State.values()).
+                        map(this.addonManager::getStageLatency).
+                        filter(latency -> latency.getCount() > 0).
+                        map(EconomyLatency::toString).
+                        collect(Collectors.joining("; ")));
+            }
+
+            this.addonManager.getVisitorSessionRegistry().clear();
+        }
+
+        if (this.templateRegistry != null)
+        {
+            this.templateRegistry.stop();
+        }
     }
 
 
@@ -197,6 +286,20 @@ public class VisitAddon extends Addon
 // ---------------------------------------------------------------------
 
 
+    /**
+     * This method replaces settings values that cannot be used.
+     */
+    private void validateSettings()
+    {
+        if (this.settings.getStageTimeout() <= 0)
+        {
+            this.logError("economy.stage-timeout must be greater than 0. Using " + DEFAULT_STAGE_TIMEOUT +
+                " seconds.");
+            this.settings.setStageTimeout(DEFAULT_STAGE_TIMEOUT);
+        }
+    }
+
+
     /**
      * This method finds and hooks into visit addon extensions.
      */
@@ -243,6 +346,63 @@ public class VisitAddon extends Addon
         }, () -> {
             this.essentials = null;
         });
+
+        this.updateEconomyBackend();
+    }
+
+
+    /**
+     * This method selects economy backend from addon settings and available hooks. It must be called when economy
+     * settings are changed.
+     */
+    public void updateEconomyBackend()
+    {
+        if (this.addonManager != null)
+        {
+            // Collected earnings belong to previous backend.
+            this.addonManager.getEarningsAccumulator().flush();
+        }
+
+        if (this.economyBackend instanceof AsyncEconomyBackend asyncBackend)
+        {
+            // Pending transactions of previous backend are finished in the background.
+            asyncBackend.drain();
+        }
+
+        if (this.settings.isDisableEconomy() || this.vaultHook == null || !this.vaultHook.hook())
+        {
+            this.economyBackend = new NoneEconomyBackend();
+        }
+        else if (this.settings.isUseIslandBank())
+        {
+            if (this.bankHook != null)
+            {
+                this.economyBackend = new BankEconomyBackend(this.bankHook);
+            }
+            else
+            {
+                // Earnings must not be sent to personal accounts instead of island banks.
+                this.logError("Bank addon not found. Paid visits are refused until it is installed.");
+                this.economyBackend = new MissingBankEconomyBackend(this);
+            }
+        }
+        else
+        {
+            this.economyBackend = new VaultEconomyBackend(this.vaultHook);
+
+            if (this.settings.isAsyncEconomy())
+            {
+                // Vault calls are blocking. Move them out of the main thread.
+                this.economyBackend = new AsyncEconomyBackend(this,
+                    this.economyBackend,
+                    this.settings.getAsyncEconomyThreads());
+            }
+        }
+
+        if (this.addonManager != null)
+        {
+            this.addonManager.getBalanceCache().clear();
+        }
     }
 
 
@@ -291,6 +451,17 @@ public class VisitAddon extends Addon
     }
 
 
+    /**
+     * This method returns the economyBackend value.
+     *
+     * @return the value of economyBackend.
+     */
+    public EconomyBackend getEconomyBackend()
+    {
+        return this.economyBackend;
+    }
+
+
     /**
      * This method returns the settings value.
      *
@@ -313,6 +484,17 @@ public class VisitAddon extends Addon
     }
 
 
+    /**
+     * This method returns the templateRegistry value.
+     *
+     * @return the value of templateRegistry.
+     */
+    public PanelTemplateRegistry getTemplateRegistry()
+    {
+        return this.templateRegistry;
+    }
+
+
     /**
      * This method returns instance of current addon.
      *
@@ -328,6 +510,11 @@ public class VisitAddon extends Addon
 // Section: Variables
 // ---------------------------------------------------------------------
 
+    /**
+     * Stage timeout in seconds that is used when configured value cannot be used.
+     */
+    private static final int DEFAULT_STAGE_TIMEOUT = 15;
+
     /**
      * Settings object contains
      */
@@ -338,6 +525,11 @@ public class VisitAddon extends Addon
      */
     private VisitAddonManager addonManager;
 
+    /**
+     * Stores parsed panel templates.
+     */
+    private PanelTemplateRegistry templateRegistry;
+
     /**
      * Local variable that stores vault hook.
      */
@@ -353,6 +545,11 @@ public class VisitAddon extends Addon
      */
     private Bank bankHook;
 
+    /**
+     * Economy backend that processes visit payments.
+     */
+    private EconomyBackend economyBackend = new NoneEconomyBackend();
+
     /**
      * Stores instance of the addon.
      */
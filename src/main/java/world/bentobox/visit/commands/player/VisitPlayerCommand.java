@@ -17,6 +17,8 @@ import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.util.Util;
 import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.managers.ChunkPreloader;
+import world.bentobox.visit.managers.VisitQuote;
 import world.bentobox.visit.panels.player.VisitPanel;
 import world.bentobox.visit.utils.Constants;
 
@@ -154,9 +156,15 @@ public class VisitPlayerCommand extends DelayedTeleportCommand
                 }
                 else
                 {
+                    // Price is calculated once and must be valid until confirmation and teleport delay ends.
+                    long validity = (this.getSettings().getConfirmationTime() +
+                        this.getSettings().getDelayTime()) * 1000L + QUOTE_GRACE_TIME;
+
+                    this.quote = this.<VisitAddon>getAddon().getAddonManager().createQuote(this.island, validity);
+
                     // Return preprocess result from teleportation.
                     return this.<VisitAddon>getAddon().getAddonManager().
-                        preprocessTeleportation(user, this.island, false);
+                        preprocessTeleportation(user, this.island, this.quote, false, null);
                 }
             }
         }
@@ -185,32 +193,43 @@ public class VisitPlayerCommand extends DelayedTeleportCommand
         }
         else if (args.size() == 1 || bypass)
         {
-            double tax = this.<VisitAddon>getAddon().getAddonManager().getTaxAmount();
-            double earnings = this.<VisitAddon>getAddon().getAddonManager().getIslandEarnings(this.island);
+            // Visitor pays exactly the price that is shown.
+            final Island targetIsland = this.island;
+            final VisitQuote targetQuote = this.quote;
+
+            double tax = targetQuote.tax();
+            double earnings = targetQuote.earnings();
+            double payment = targetQuote.total();
+
+            // Start loading island spawn, so it is loaded when confirmation and teleport delay ends.
+            final ChunkPreloader.Preload preload = this.<VisitAddon>getAddon().getAddonManager().
+                getChunkPreloader().preload(user.getUniqueId(), targetIsland);
 
             String prefix = user.getTranslation(Constants.CONVERSATIONS + "prefix");
             String message = prefix +
                 user.getTranslation(Constants.CONVERSATIONS + "visit-payment",
-                    Constants.PARAMETER_PAYMENT, String.valueOf(tax + earnings),
+                    Constants.PARAMETER_PAYMENT, String.valueOf(payment),
                     Constants.PARAMETER_TAX, String.valueOf(tax),
-                    Constants.PARAMETER_ISLAND, String.valueOf(this.island.getName()),
-                    Constants.PARAMETER_OWNER, this.getPlayers().getName(this.island.getOwner()),
+                    Constants.PARAMETER_ISLAND, String.valueOf(targetIsland.getName()),
+                    Constants.PARAMETER_OWNER, this.getPlayers().getName(targetIsland.getOwner()),
                     Constants.PARAMETER_RECEIVER, String.valueOf(earnings));
 
-            if (this.<VisitAddon>getAddon().getSettings().isPaymentConfirmation() && (tax + earnings) > 0 && !bypass)
+            if (this.<VisitAddon>getAddon().getSettings().isPaymentConfirmation() && payment > 0 && !bypass)
             {
                 // If there is associated cost, then ask confirmation from user.
                 this.askConfirmation(user,
                     message,
                     () -> this.delayCommand(user, () ->
-                        this.<VisitAddon>getAddon().getAddonManager().processTeleportation(user, this.island, this.getWorld())));
+                        this.<VisitAddon>getAddon().getAddonManager().
+                            processTeleportation(user, targetIsland, this.getWorld(), targetQuote, preload)));
             }
             else
             {
                 // Execute teleportation without confirmation.
                 this.delayCommand(user,
-                    (tax + earnings > 0) ? message : "",
-                    () -> this.<VisitAddon>getAddon().getAddonManager().processTeleportation(user, this.island, this.getWorld()));
+                    payment > 0 ? message : "",
+                    () -> this.<VisitAddon>getAddon().getAddonManager().
+                        processTeleportation(user, targetIsland, this.getWorld(), targetQuote, preload));
             }
         }
         else
@@ -305,6 +324,16 @@ public class VisitPlayerCommand extends DelayedTeleportCommand
      */
     private Island island;
 
+    /**
+     * Visit price that is calculated when command is checked.
+     */
+    private VisitQuote quote;
+
+    /**
+     * Time in milliseconds that visit price stays valid after confirmation and teleport delay.
+     */
+    private static final long QUOTE_GRACE_TIME = 5000L;
+
     /**
      * Map that contains which users are in confirmation process.
      */
@@ -6,6 +6,7 @@
 package world.bentobox.visit.commands.player;
 
 
+import org.bukkit.Location;
 import org.bukkit.World;
 import java.util.List;
 
@@ -98,18 +99,13 @@ public class VisitSetLocationCommand extends CompositeCommand
                 Constants.PARAMETER_GAMEMODE, Utils.getGameMode(this.getWorld())));
             return false;
         }
-        else if (!island.getProtectionBoundingBox().contains(user.getLocation().toVector()))
+        else if (!this.<VisitAddon>getAddon().getAddonManager().getIslandDirectory(this.getWorld()).
+            isInProtectedArea(island, user.getLocation().getBlockX(), user.getLocation().getBlockZ()))
         {
             // User must be in protected area.
             Utils.sendMessage(user, user.getTranslation(Constants.ERRORS + "not-in-protected-area"));
             return false;
         }
-        else if (!this.getAddon().getIslands().isSafeLocation(user.getLocation()))
-        {
-            // Location must be safe.
-            Utils.sendMessage(user, user.getTranslation(Constants.ERRORS + "not-safe-location"));
-            return false;
-        }
 
         int rank = island.getRank(user);
 
@@ -141,9 +137,25 @@ public class VisitSetLocationCommand extends CompositeCommand
 
         if (island != null)
         {
-            // Utilize island spawn point location.
-            island.setSpawnPoint(World.Environment.NORMAL, user.getLocation());
-            Utils.sendMessage(user, user.getTranslation(Constants.CONVERSATIONS + "spawn-point-updated"));
+            Location location = user.getLocation();
+
+            // Location safety is checked outside the main thread. Safe result is cached for visits.
+            this.<VisitAddon>getAddon().getAddonManager().getSpawnSafetyValidator().
+                isSafe(island, location).
+                thenAccept(safe -> {
+                    if (safe)
+                    {
+                        // Utilize island spawn point location.
+                        island.setSpawnPoint(World.Environment.NORMAL, location);
+                        Utils.sendMessage(user,
+                            user.getTranslation(Constants.CONVERSATIONS + "spawn-point-updated"));
+                    }
+                    else
+                    {
+                        // Location must be safe.
+                        Utils.sendMessage(user, user.getTranslation(Constants.ERRORS + "not-safe-location"));
+                    }
+                });
         }
 
         return true;
@@ -182,6 +182,28 @@ public class Settings implements ConfigObject
     }
 
 
+    /**
+     * Is watch panel templates boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isWatchPanelTemplates()
+    {
+        return watchPanelTemplates;
+    }
+
+
+    /**
+     * Sets watch panel templates.
+     *
+     * @param watchPanelTemplates the watch panel templates
+     */
+    public void setWatchPanelTemplates(boolean watchPanelTemplates)
+    {
+        this.watchPanelTemplates = watchPanelTemplates;
+    }
+
+
     /**
      * Gets player main command.
      *
@@ -380,6 +402,336 @@ public class Settings implements ConfigObject
     }
 
 
+    /**
+     * Gets move granularity.
+     *
+     * @return the move granularity
+     */
+    public MoveGranularity getMoveGranularity()
+    {
+        return moveGranularity;
+    }
+
+
+    /**
+     * Sets move granularity.
+     *
+     * @param moveGranularity the move granularity
+     */
+    public void setMoveGranularity(MoveGranularity moveGranularity)
+    {
+        this.moveGranularity = moveGranularity;
+    }
+
+
+    /**
+     * Gets max visitor sessions.
+     *
+     * @return the max visitor sessions
+     */
+    public int getMaxVisitorSessions()
+    {
+        return maxVisitorSessions;
+    }
+
+
+    /**
+     * Sets max visitor sessions.
+     *
+     * @param maxVisitorSessions the max visitor sessions
+     */
+    public void setMaxVisitorSessions(int maxVisitorSessions)
+    {
+        this.maxVisitorSessions = maxVisitorSessions;
+    }
+
+
+    /**
+     * Gets preload radius.
+     *
+     * @return the preload radius
+     */
+    public int getPreloadRadius()
+    {
+        return preloadRadius;
+    }
+
+
+    /**
+     * Sets preload radius.
+     *
+     * @param preloadRadius the preload radius
+     */
+    public void setPreloadRadius(int preloadRadius)
+    {
+        this.preloadRadius = preloadRadius;
+    }
+
+
+    /**
+     * Gets preload timeout.
+     *
+     * @return the preload timeout
+     */
+    public int getPreloadTimeout()
+    {
+        return preloadTimeout;
+    }
+
+
+    /**
+     * Sets preload timeout.
+     *
+     * @param preloadTimeout the preload timeout
+     */
+    public void setPreloadTimeout(int preloadTimeout)
+    {
+        this.preloadTimeout = preloadTimeout;
+    }
+
+
+    /**
+     * Gets teleports per tick.
+     *
+     * @return the teleports per tick
+     */
+    public int getTeleportsPerTick()
+    {
+        return teleportsPerTick;
+    }
+
+
+    /**
+     * Sets teleports per tick.
+     *
+     * @param teleportsPerTick the teleports per tick
+     */
+    public void setTeleportsPerTick(int teleportsPerTick)
+    {
+        this.teleportsPerTick = teleportsPerTick;
+    }
+
+
+    /**
+     * Gets teleport tick budget.
+     *
+     * @return the teleport tick budget
+     */
+    public int getTeleportTickBudget()
+    {
+        return teleportTickBudget;
+    }
+
+
+    /**
+     * Sets teleport tick budget.
+     *
+     * @param teleportTickBudget the teleport tick budget
+     */
+    public void setTeleportTickBudget(int teleportTickBudget)
+    {
+        this.teleportTickBudget = teleportTickBudget;
+    }
+
+
+    /**
+     * Gets hot island chunks.
+     *
+     * @return the hot island chunks
+     */
+    public int getHotIslandChunks()
+    {
+        return hotIslandChunks;
+    }
+
+
+    /**
+     * Sets hot island chunks.
+     *
+     * @param hotIslandChunks the hot island chunks
+     */
+    public void setHotIslandChunks(int hotIslandChunks)
+    {
+        this.hotIslandChunks = hotIslandChunks;
+    }
+
+
+    /**
+     * Gets hot island half life.
+     *
+     * @return the hot island half life
+     */
+    public int getHotIslandHalfLife()
+    {
+        return hotIslandHalfLife;
+    }
+
+
+    /**
+     * Sets hot island half life.
+     *
+     * @param hotIslandHalfLife the hot island half life
+     */
+    public void setHotIslandHalfLife(int hotIslandHalfLife)
+    {
+        this.hotIslandHalfLife = hotIslandHalfLife;
+    }
+
+
+    /**
+     * Gets detection mode.
+     *
+     * @return the detection mode
+     */
+    public DetectionMode getDetectionMode()
+    {
+        return detectionMode;
+    }
+
+
+    /**
+     * Sets detection mode.
+     *
+     * @param detectionMode the detection mode
+     */
+    public void setDetectionMode(DetectionMode detectionMode)
+    {
+        this.detectionMode = detectionMode;
+    }
+
+
+    /**
+     * Gets scan interval.
+     *
+     * @return the scan interval
+     */
+    public int getScanInterval()
+    {
+        return scanInterval;
+    }
+
+
+    /**
+     * Sets scan interval.
+     *
+     * @param scanInterval the scan interval
+     */
+    public void setScanInterval(int scanInterval)
+    {
+        this.scanInterval = scanInterval;
+    }
+
+
+    /**
+     * Is async economy boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isAsyncEconomy()
+    {
+        return asyncEconomy;
+    }
+
+
+    /**
+     * Sets async economy.
+     *
+     * @param asyncEconomy the async economy
+     */
+    public void setAsyncEconomy(boolean asyncEconomy)
+    {
+        this.asyncEconomy = asyncEconomy;
+    }
+
+
+    /**
+     * Gets async economy threads.
+     *
+     * @return the async economy threads
+     */
+    public int getAsyncEconomyThreads()
+    {
+        return asyncEconomyThreads;
+    }
+
+
+    /**
+     * Sets async economy threads.
+     *
+     * @param asyncEconomyThreads the async economy threads
+     */
+    public void setAsyncEconomyThreads(int asyncEconomyThreads)
+    {
+        this.asyncEconomyThreads = asyncEconomyThreads;
+    }
+
+
+    /**
+     * Gets earnings interval.
+     *
+     * @return the earnings interval
+     */
+    public int getEarningsInterval()
+    {
+        return earningsInterval;
+    }
+
+
+    /**
+     * Sets earnings interval.
+     *
+     * @param earningsInterval the earnings interval
+     */
+    public void setEarningsInterval(int earningsInterval)
+    {
+        this.earningsInterval = earningsInterval;
+    }
+
+
+    /**
+     * Gets earnings threshold.
+     *
+     * @return the earnings threshold
+     */
+    public double getEarningsThreshold()
+    {
+        return earningsThreshold;
+    }
+
+
+    /**
+     * Sets earnings threshold.
+     *
+     * @param earningsThreshold the earnings threshold
+     */
+    public void setEarningsThreshold(double earningsThreshold)
+    {
+        this.earningsThreshold = earningsThreshold;
+    }
+
+
+    /**
+     * Gets stage timeout.
+     *
+     * @return the stage timeout
+     */
+    public int getStageTimeout()
+    {
+        return stageTimeout;
+    }
+
+
+    /**
+     * Sets stage timeout.
+     *
+     * @param stageTimeout the stage timeout
+     */
+    public void setStageTimeout(int stageTimeout)
+    {
+        this.stageTimeout = stageTimeout;
+    }
+
+
     /**
      * Is use island bank boolean.
      *
@@ -427,6 +779,66 @@ public class Settings implements ConfigObject
     }
 
 
+    /**
+     * This enum stores how visitors leaving the island are detected.
+     */
+    public enum DetectionMode
+    {
+        /**
+         * Indicate that visitor is checked on each player move and teleport event.
+         */
+        EVENT,
+        /**
+         * Indicate that all visitors are checked in batches every scan interval.
+         */
+        SCAN
+    }
+
+
+    /**
+     * This enum stores how precisely visitor movement is checked for leaving the island.
+     */
+    public enum MoveGranularity
+    {
+        /**
+         * Indicate that visitor is checked each time it moves to another block.
+         */
+        BLOCK(0),
+        /**
+         * Indicate that visitor is checked each time it moves to another chunk.
+         */
+        CHUNK(4);
+
+
+        /**
+         * Constructor MoveGranularity creates a new MoveGranularity instance.
+         *
+         * @param shift Number of bits block coordinates are shifted by.
+         */
+        MoveGranularity(int shift)
+        {
+            this.shift = shift;
+        }
+
+
+        /**
+         * This method returns the shift value.
+         *
+         * @return the value of shift.
+         */
+        public int getShift()
+        {
+            return this.shift;
+        }
+
+
+        /**
+         * Number of bits block coordinates are shifted by.
+         */
+        private final int shift;
+    }
+
+
 // ---------------------------------------------------------------------
 // Section: Variables
 // ---------------------------------------------------------------------
@@ -449,6 +861,56 @@ public class Settings implements ConfigObject
     @ConfigEntry(path = "use-bank")
     private boolean useIslandBank = true;
 
+    /**
+     * The Async economy.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to process Vault deposits and withdrawals outside the main thread.")
+    @ConfigComment("Useful for economy plugins that store balances in a database.")
+    @ConfigComment("Economy call durations are logged when addon is disabled.")
+    @ConfigEntry(path = "economy.async")
+    private boolean asyncEconomy = false;
+
+    /**
+     * The Async economy threads.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set number of threads that process Vault calls when async economy is enabled.")
+    @ConfigEntry(path = "economy.async-threads")
+    private int asyncEconomyThreads = 2;
+
+    /**
+     * The Earnings interval.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to collect island owner earnings and deposit them once per given number of seconds.")
+    @ConfigComment("Owners receive a single message about all visits in that period.")
+    @ConfigComment("0 deposits earnings right after each visit.")
+    @ConfigEntry(path = "economy.earnings-interval")
+    private int earningsInterval = 0;
+
+    /**
+     * The Earnings threshold.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to deposit collected earnings before interval ends, when they reach given amount.")
+    @ConfigComment("0 disables threshold.")
+    @ConfigEntry(path = "economy.earnings-threshold")
+    private double earningsThreshold = 0;
+
+    /**
+     * The Stage timeout.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set how many seconds each visit step (payment, deposit to owner, teleportation) can take.")
+    @ConfigComment("Visit is cancelled if payment is not withdrawn in time, and payment that is withdrawn later is")
+    @ConfigComment("returned to the visitor. Deposit to owner cannot be cancelled, so visitor is told that visit is")
+    @ConfigComment("delayed, and visit is cancelled only if deposit takes twice as long. Payment is returned to the")
+    @ConfigComment("visitor when visit is cancelled after payment or teleportation is not started in time.")
+    @ConfigComment("Must be greater than 0.")
+    @ConfigEntry(path = "economy.stage-timeout")
+    private int stageTimeout = 15;
+
     /**
      * The Tax amount.
      */
@@ -527,6 +989,16 @@ public class Settings implements ConfigObject
     @ConfigEntry(path = "gui.island-icon")
     private Material islandIcon = Material.PLAYER_HEAD;
 
+    /**
+     * The Watch panel templates.
+     */
+    @ConfigComment("Allows to reload panel templates from panels folder as soon as their files are changed.")
+    @ConfigComment("BentoBox does not allow to reload a single template, so each reload clears parsed templates of")
+    @ConfigComment("all addons, and they parse their panels again when they are opened next time.")
+    @ConfigComment("Enable it only while panel files are edited on a running server.")
+    @ConfigEntry(path = "gui.watch-templates", needsRestart = true)
+    private boolean watchPanelTemplates = false;
+
     /**
      * The Player main command.
      */
@@ -566,6 +1038,102 @@ public class Settings implements ConfigObject
     @ConfigEntry(path = "commands.admin.main", needsRestart = true)
     private String adminMainCommand = "visit";
 
+    /**
+     * The Move granularity.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set how often visitor position is checked for leaving the island.")
+    @ConfigComment("   BLOCK - visitor is checked when it moves to another block.")
+    @ConfigComment("   CHUNK - visitor is checked when it moves to another chunk. It is cheaper, but")
+    @ConfigComment("           leave message can be sent up to 15 blocks after leaving the island.")
+    @ConfigEntry(path = "visitors.move-granularity")
+    private MoveGranularity moveGranularity = MoveGranularity.BLOCK;
+
+    /**
+     * The Detection mode.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set how visitors leaving the island are detected.")
+    @ConfigComment("   EVENT - visitor is checked each time it moves or teleports.")
+    @ConfigComment("   SCAN - all visitors are checked in batches every scan interval. Leave message can be")
+    @ConfigComment("          sent up to scan interval late, but CPU usage does not depend on player movement.")
+    @ConfigEntry(path = "visitors.detection-mode")
+    private DetectionMode detectionMode = DetectionMode.EVENT;
+
+    /**
+     * The Scan interval.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set number of ticks in which all visitors are checked in SCAN detection mode.")
+    @ConfigComment("Visitors are split evenly between these ticks.")
+    @ConfigEntry(path = "visitors.scan-interval")
+    private int scanInterval = 10;
+
+    /**
+     * The Max visitor sessions.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set maximal number of visitors that are tracked for leaving the island at the same time.")
+    @ConfigComment("When limit is reached, the oldest visitor is not tracked anymore.")
+    @ConfigEntry(path = "visitors.max-sessions")
+    private int maxVisitorSessions = 1000;
+
+    /**
+     * The Preload radius.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set radius in chunks around island spawn point that is loaded asynchronously as soon as")
+    @ConfigComment("visit is requested, so chunks are loaded when teleport delay ends.")
+    @ConfigComment("0 loads only spawn chunk. -1 disables preloading.")
+    @ConfigEntry(path = "teleport.preload-radius")
+    private int preloadRadius = 1;
+
+    /**
+     * The Preload timeout.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set number of seconds after which preloaded chunks are released if visit is not finished.")
+    @ConfigEntry(path = "teleport.preload-timeout")
+    private int preloadTimeout = 30;
+
+    /**
+     * The Teleports per tick.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set maximal number of visitors that are teleported in a single tick. Other visitors wait")
+    @ConfigComment("in a queue and are told their position in it.")
+    @ConfigComment("0 disables the limit.")
+    @ConfigEntry(path = "teleport.per-tick")
+    private int teleportsPerTick = 5;
+
+    /**
+     * The Teleport tick budget.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set number of milliseconds in each tick that can be used for teleporting visitors.")
+    @ConfigComment("At least one visitor is teleported in each tick. 0 disables the limit.")
+    @ConfigEntry(path = "teleport.tick-budget")
+    private int teleportTickBudget = 10;
+
+    /**
+     * The Hot island chunks.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set number of chunks that are kept loaded around spawn points of the most visited islands,")
+    @ConfigComment("so visitors do not wait for chunk loading. Each island uses preload-radius chunks around spawn point.")
+    @ConfigComment("0 disables keeping chunks loaded.")
+    @ConfigEntry(path = "teleport.hot-island-chunks")
+    private int hotIslandChunks = 27;
+
+    /**
+     * The Hot island half life.
+     */
+    @ConfigComment("")
+    @ConfigComment("Allows to set number of minutes after which island visit count is reduced by half.")
+    @ConfigComment("Islands whose visit count drops below 2 are not kept loaded.")
+    @ConfigEntry(path = "teleport.hot-island-half-life")
+    private int hotIslandHalfLife = 10;
+
     /**
      * You can define any variable you want, as long as it can be serialized. For each variable you need corresponding
      * Getter and Setter method.
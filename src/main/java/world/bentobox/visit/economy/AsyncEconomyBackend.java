@@ -0,0 +1,293 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.economy;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This economy backend runs deposits and withdrawals of the wrapped backend on a dedicated thread pool, so slow
+ * economy plugins do not block the main thread. Balance checks are still done on the calling thread, as panels and
+ * commands need the result immediately.
+ * <p>
+ * Returned futures are completed on economy threads. Duration of each economy call is recorded.
+ */
+public class AsyncEconomyBackend implements EconomyBackend
+{
+    /**
+     * Constructor AsyncEconomyBackend creates a new AsyncEconomyBackend instance.
+     *
+     * @param addon Visit addon instance.
+     * @param backend Backend which calls must be done asynchronously.
+     * @param threads Number of threads in the pool.
+     */
+    public AsyncEconomyBackend(VisitAddon addon, EconomyBackend backend, int threads)
+    {
+        this.addon = addon;
+        this.backend = backend;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads),
+            Math.max(1, threads),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE),
+            runnable -> {
+                Thread thread = new Thread(runnable, "Visit-Economy-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        this.balanceLatency = new EconomyLatency("balance");
+        this.depositLatency = new EconomyLatency("deposit");
+        this.withdrawLatency = new EconomyLatency("withdraw");
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    @Override
+    public boolean isEnabled()
+    {
+        return this.backend.isEnabled();
+    }
+
+
+    @Override
+    public boolean isIslandBank()
+    {
+        return this.backend.isIslandBank();
+    }
+
+
+    @Override
+    public double getBalance(User user, World world)
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            return this.backend.getBalance(user, world);
+        }
+        finally
+        {
+            this.balanceLatency.record(System.nanoTime() - start);
+        }
+    }
+
+
+    @Override
+    public boolean has(User user, double credits, World world)
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            return this.backend.has(user, credits, world);
+        }
+        finally
+        {
+            this.balanceLatency.record(System.nanoTime() - start);
+        }
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> deposit(User user, double credits, World world)
+    {
+        return this.submit(() -> this.backend.deposit(user, credits, world), this.depositLatency);
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> withdraw(User user, double credits, World world)
+    {
+        return this.submit(() -> this.backend.withdraw(user, credits, world), this.withdrawLatency);
+    }
+
+
+    /**
+     * This method stops accepting new calls and waits until already accepted calls are processed. It blocks calling
+     * thread, so it must be used only when addon is disabled.
+     */
+    public void shutdown()
+    {
+        this.executor.shutdown();
+        this.awaitTermination();
+    }
+
+
+    /**
+     * This method stops accepting new calls. Already accepted calls are processed in the background, so calling
+     * thread is not blocked. It is used when backend is replaced.
+     */
+    public void drain()
+    {
+        this.executor.shutdown();
+
+        if (this.addon.getPlugin().isEnabled())
+        {
+            Bukkit.getScheduler().runTaskAsynchronously(this.addon.getPlugin(), this::awaitTermination);
+        }
+        else
+        {
+            this.awaitTermination();
+        }
+    }
+
+
+    /**
+     * This method waits until accepted calls are processed and logs economy latency.
+     */
+    private void awaitTermination()
+    {
+        try
+        {
+            if (!this.executor.awaitTermination(10, TimeUnit.SECONDS))
+            {
+                this.addon.logError("Some economy transactions were not finished in time.");
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        this.addon.log("Economy latency - " + this.balanceLatency + "; " +
+            this.depositLatency + "; " +
+            this.withdrawLatency);
+    }
+
+
+    /**
+     * This method returns the balanceLatency value.
+     *
+     * @return the value of balanceLatency.
+     */
+    public EconomyLatency getBalanceLatency()
+    {
+        return this.balanceLatency;
+    }
+
+
+    /**
+     * This method returns the depositLatency value.
+     *
+     * @return the value of depositLatency.
+     */
+    public EconomyLatency getDepositLatency()
+    {
+        return this.depositLatency;
+    }
+
+
+    /**
+     * This method returns the withdrawLatency value.
+     *
+     * @return the value of withdrawLatency.
+     */
+    public EconomyLatency getWithdrawLatency()
+    {
+        return this.withdrawLatency;
+    }
+
+
+    /**
+     * This method runs given economy call in the thread pool and records its duration.
+     *
+     * @param call Economy call.
+     * @param latency Latency recorder for the call.
+     * @return Future that completes with economy call result.
+     */
+    private CompletableFuture<Boolean> submit(Supplier<CompletableFuture<Boolean>> call, EconomyLatency latency)
+    {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        try
+        {
+            this.executor.execute(() -> {
+                long start = System.nanoTime();
+
+                try
+                {
+                    result.complete(call.get().join());
+                }
+                catch (CompletionException e)
+                {
+                    result.completeExceptionally(e.getCause() == null ? e : e.getCause());
+                }
+                catch (RuntimeException e)
+                {
+                    result.completeExceptionally(e);
+                }
+                finally
+                {
+                    latency.record(System.nanoTime() - start);
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            // Queue is full or backend is stopped. Nothing was charged.
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Maximal number of economy calls that can wait in the queue.
+     */
+    private static final int QUEUE_SIZE = 1000;
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Backend which calls are done asynchronously.
+     */
+    private final EconomyBackend backend;
+
+    /**
+     * Thread pool for economy calls.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Latency of balance checks.
+     */
+    private final EconomyLatency balanceLatency;
+
+    /**
+     * Latency of deposits.
+     */
+    private final EconomyLatency depositLatency;
+
+    /**
+     * Latency of withdrawals.
+     */
+    private final EconomyLatency withdrawLatency;
+}
@@ -0,0 +1,112 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.economy;
+
+
+import org.bukkit.World;
+import java.util.concurrent.CompletableFuture;
+
+import world.bentobox.bank.Bank;
+import world.bentobox.bank.BankResponse;
+import world.bentobox.bank.data.Money;
+import world.bentobox.bentobox.api.user.User;
+
+
+/**
+ * This economy backend processes payments via Bank addon island accounts.
+ */
+public class BankEconomyBackend implements EconomyBackend
+{
+    /**
+     * Constructor BankEconomyBackend creates a new BankEconomyBackend instance.
+     *
+     * @param bank Bank addon instance.
+     */
+    public BankEconomyBackend(Bank bank)
+    {
+        this.bank = bank;
+    }
+
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+
+    @Override
+    public boolean isIslandBank()
+    {
+        return true;
+    }
+
+
+    @Override
+    public double getBalance(User user, World world)
+    {
+        return this.bank.getBankManager().getBalance(user, world).getValue();
+    }
+
+
+    @Override
+    public boolean has(User user, double credits, World world)
+    {
+        return this.getBalance(user, world) >= credits;
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> deposit(User user, double credits, World world)
+    {
+        return this.complete(this.bank.getBankManager().deposit(user, new Money(credits), world),
+            "FAILED_DEPOSIT");
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> withdraw(User user, double credits, World world)
+    {
+        return this.complete(this.bank.getBankManager().withdraw(user, new Money(credits), world),
+            "FAILED_WITHDRAW");
+    }
+
+
+    /**
+     * This method converts bank response future into result future.
+     *
+     * @param response Bank response future.
+     * @param failure Failure reason if bank future fails.
+     * @return Future that completes with {@code true} on success, or completes exceptionally with failure reason.
+     */
+    private CompletableFuture<Boolean> complete(CompletableFuture<BankResponse> response, String failure)
+    {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        response.whenComplete((bankResponse, throwable) -> {
+            if (throwable != null)
+            {
+                result.completeExceptionally(new Throwable(failure));
+            }
+            else if (bankResponse == BankResponse.SUCCESS)
+            {
+                result.complete(true);
+            }
+            else
+            {
+                result.completeExceptionally(new Throwable(bankResponse.name()));
+            }
+        });
+
+        return result;
+    }
+
+
+    /**
+     * Bank addon instance.
+     */
+    private final Bank bank;
+}
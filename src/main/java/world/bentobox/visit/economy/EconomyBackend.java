@@ -0,0 +1,81 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.economy;
+
+
+import org.bukkit.World;
+import java.util.concurrent.CompletableFuture;
+
+import world.bentobox.bentobox.api.user.User;
+
+
+/**
+ * This interface hides economy implementation that is used for visit payments. Backend is selected once when addon
+ * hooks into extensions and when economy settings are changed, so payment code does not need to check hooks and
+ * settings on each call.
+ */
+public interface EconomyBackend
+{
+    /**
+     * This method checks if payments are enabled. If payments are disabled, visiting is free.
+     *
+     * @return {@code true} if payments are enabled, {@code false} otherwise.
+     */
+    boolean isEnabled();
+
+
+    /**
+     * This method checks if payments are done via island banks.
+     *
+     * @return {@code true} if island bank is used, {@code false} otherwise.
+     */
+    boolean isIslandBank();
+
+
+    /**
+     * This method returns balance of given user.
+     *
+     * @param user Targeted user.
+     * @param world World where balance must be checked.
+     * @return User balance.
+     */
+    double getBalance(User user, World world);
+
+
+    /**
+     * This method checks if given user has enough credits.
+     *
+     * @param user Targeted user.
+     * @param credits Amount that must be checked.
+     * @param world World where balance must be checked.
+     * @return {@code true} if user has enough credits, {@code false} otherwise.
+     */
+    boolean has(User user, double credits, World world);
+
+
+    /**
+     * This method deposits given amount to user account.
+     *
+     * @param user Targeted user.
+     * @param credits Amount that must be deposited.
+     * @param world World where credits must be deposited.
+     * @return Future that completes with {@code true} if deposit succeeded, {@code false} if it was declined, or
+     * completes exceptionally with the failure reason.
+     */
+    CompletableFuture<Boolean> deposit(User user, double credits, World world);
+
+
+    /**
+     * This method withdraws given amount from user account.
+     *
+     * @param user Targeted user.
+     * @param credits Amount that must be withdrawn.
+     * @param world World where credits must be withdrawn.
+     * @return Future that completes with {@code true} if withdraw succeeded, {@code false} if it was declined, or
+     * completes exceptionally with the failure reason.
+     */
+    CompletableFuture<Boolean> withdraw(User user, double credits, World world);
+}
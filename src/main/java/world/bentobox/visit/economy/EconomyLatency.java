@@ -0,0 +1,124 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.economy;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+
+/**
+ * This class records how long economy calls take. It can be updated from any thread.
+ */
+public class EconomyLatency
+{
+    /**
+     * Constructor EconomyLatency creates a new EconomyLatency instance.
+     *
+     * @param name Name of recorded operation.
+     */
+    public EconomyLatency(String name)
+    {
+        this.name = name;
+        this.count = new AtomicLong();
+        this.totalNanos = new AtomicLong();
+        this.maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method records single call.
+     *
+     * @param nanos Call duration in nanoseconds.
+     */
+    public void record(long nanos)
+    {
+        this.count.incrementAndGet();
+        this.totalNanos.addAndGet(nanos);
+        this.maxNanos.accumulate(nanos);
+    }
+
+
+    /**
+     * This method returns number of recorded calls.
+     *
+     * @return Number of recorded calls.
+     */
+    public long getCount()
+    {
+        return this.count.get();
+    }
+
+
+    /**
+     * This method returns average call duration in milliseconds.
+     *
+     * @return Average call duration in milliseconds.
+     */
+    public double getAverageMillis()
+    {
+        long calls = this.count.get();
+        return calls == 0 ? 0 : this.totalNanos.get() / 1_000_000.0 / calls;
+    }
+
+
+    /**
+     * This method returns the longest call duration in milliseconds.
+     *
+     * @return The longest call duration in milliseconds.
+     */
+    public double getMaxMillis()
+    {
+        return this.maxNanos.get() / 1_000_000.0;
+    }
+
+
+    /**
+     * This method returns text that describes recorded latency.
+     *
+     * @return Latency description.
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%s: %d calls, avg %.2f ms, max %.2f ms",
+            this.name,
+            this.getCount(),
+            this.getAverageMillis(),
+            this.getMaxMillis());
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Name of recorded operation.
+     */
+    private final String name;
+
+    /**
+     * Number of recorded calls.
+     */
+    private final AtomicLong count;
+
+    /**
+     * Total duration of recorded calls in nanoseconds.
+     */
+    private final AtomicLong totalNanos;
+
+    /**
+     * The longest recorded call in nanoseconds.
+     */
+    private final LongAccumulator maxNanos;
+}
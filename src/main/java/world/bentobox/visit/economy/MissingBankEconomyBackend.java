@@ -0,0 +1,92 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.economy;
+
+
+import org.bukkit.World;
+import java.util.concurrent.CompletableFuture;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This economy backend is used when island bank is enabled, but Bank addon is not available. Payments are refused,
+ * so visit earnings are not sent to personal accounts instead of island banks.
+ */
+public class MissingBankEconomyBackend implements EconomyBackend
+{
+    /**
+     * Constructor MissingBankEconomyBackend creates a new MissingBankEconomyBackend instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public MissingBankEconomyBackend(VisitAddon addon)
+    {
+        this.addon = addon;
+    }
+
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+
+    @Override
+    public boolean isIslandBank()
+    {
+        return true;
+    }
+
+
+    @Override
+    public double getBalance(User user, World world)
+    {
+        return Double.MAX_VALUE;
+    }
+
+
+    @Override
+    public boolean has(User user, double credits, World world)
+    {
+        // Payment is refused when it is processed.
+        return true;
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> deposit(User user, double credits, World world)
+    {
+        return this.refuse();
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> withdraw(User user, double credits, World world)
+    {
+        return this.refuse();
+    }
+
+
+    /**
+     * This method returns future that fails, as payments cannot be processed without Bank addon.
+     *
+     * @return Future that completes exceptionally.
+     */
+    private CompletableFuture<Boolean> refuse()
+    {
+        this.addon.logError("Missing Bank Addon. Cannot proceed with payments.");
+        return CompletableFuture.failedFuture(new Throwable("MISSING_BANK_ADDON"));
+    }
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+}
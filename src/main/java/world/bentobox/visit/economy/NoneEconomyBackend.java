@@ -0,0 +1,60 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.economy;
+
+
+import org.bukkit.World;
+import java.util.concurrent.CompletableFuture;
+
+import world.bentobox.bentobox.api.user.User;
+
+
+/**
+ * This economy backend is used when economy is disabled or economy plugin is not available. All visits are free.
+ */
+public class NoneEconomyBackend implements EconomyBackend
+{
+    @Override
+    public boolean isEnabled()
+    {
+        return false;
+    }
+
+
+    @Override
+    public boolean isIslandBank()
+    {
+        return false;
+    }
+
+
+    @Override
+    public double getBalance(User user, World world)
+    {
+        return Double.MAX_VALUE;
+    }
+
+
+    @Override
+    public boolean has(User user, double credits, World world)
+    {
+        return true;
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> deposit(User user, double credits, World world)
+    {
+        return CompletableFuture.completedFuture(true);
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> withdraw(User user, double credits, World world)
+    {
+        return CompletableFuture.completedFuture(true);
+    }
+}
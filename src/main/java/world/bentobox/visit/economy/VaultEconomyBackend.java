@@ -0,0 +1,78 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.economy;
+
+
+import org.bukkit.World;
+import java.util.concurrent.CompletableFuture;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.hooks.VaultHook;
+
+
+/**
+ * This economy backend processes payments via Vault economy.
+ */
+public class VaultEconomyBackend implements EconomyBackend
+{
+    /**
+     * Constructor VaultEconomyBackend creates a new VaultEconomyBackend instance.
+     *
+     * @param vaultHook Vault hook that is hooked into economy.
+     */
+    public VaultEconomyBackend(VaultHook vaultHook)
+    {
+        this.vaultHook = vaultHook;
+    }
+
+
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+
+    @Override
+    public boolean isIslandBank()
+    {
+        return false;
+    }
+
+
+    @Override
+    public double getBalance(User user, World world)
+    {
+        return this.vaultHook.getBalance(user, world);
+    }
+
+
+    @Override
+    public boolean has(User user, double credits, World world)
+    {
+        return this.vaultHook.has(user, credits);
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> deposit(User user, double credits, World world)
+    {
+        return CompletableFuture.completedFuture(this.vaultHook.deposit(user, credits, world).transactionSuccess());
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> withdraw(User user, double credits, World world)
+    {
+        return CompletableFuture.completedFuture(this.vaultHook.withdraw(user, credits, world).transactionSuccess());
+    }
+
+
+    /**
+     * Vault hook that is hooked into economy.
+     */
+    private final VaultHook vaultHook;
+}
@@ -0,0 +1,194 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+
+package world.bentobox.visit.listeners;
+
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import world.bentobox.bentobox.api.events.island.IslandCreatedEvent;
+import world.bentobox.bentobox.api.events.island.IslandDeleteEvent;
+import world.bentobox.bentobox.api.events.island.IslandNameEvent;
+import world.bentobox.bentobox.api.events.island.IslandProtectionRangeChangeEvent;
+import world.bentobox.bentobox.api.events.island.IslandRankChangeEvent;
+import world.bentobox.bentobox.api.events.island.IslandRegisteredEvent;
+import world.bentobox.bentobox.api.events.island.IslandResettedEvent;
+import world.bentobox.bentobox.api.events.island.IslandUnregisteredEvent;
+import world.bentobox.bentobox.api.events.team.TeamJoinedEvent;
+import world.bentobox.bentobox.api.events.team.TeamKickEvent;
+import world.bentobox.bentobox.api.events.team.TeamLeaveEvent;
+import world.bentobox.bentobox.api.events.team.TeamSetownerEvent;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This listener keeps island directory up to date when islands are created, deleted, renamed, change owner,
+ * members or protection range.
+ */
+public class IslandDirectoryListener implements Listener
+{
+    /**
+     * Instantiates a new Island directory listener.
+     *
+     * @param addon the addon
+     */
+    public IslandDirectoryListener(VisitAddon addon)
+    {
+        this.addon = addon;
+    }
+
+
+    /**
+     * On island created event listener.
+     *
+     * @param event the island created event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandCreated(IslandCreatedEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On island resetted event listener.
+     *
+     * @param event the island resetted event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandResetted(IslandResettedEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On island delete event listener.
+     *
+     * @param event the island delete event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandDelete(IslandDeleteEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On island registered event listener.
+     *
+     * @param event the island registered event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandRegistered(IslandRegisteredEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On island unregistered event listener.
+     *
+     * @param event the island unregistered event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandUnregistered(IslandUnregisteredEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On island name event listener.
+     *
+     * @param event the island name event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandName(IslandNameEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On team setowner event listener.
+     *
+     * @param event the team setowner event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeamSetowner(TeamSetownerEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On team joined event listener.
+     *
+     * @param event the team joined event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeamJoined(TeamJoinedEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On team leave event listener.
+     *
+     * @param event the team leave event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeamLeave(TeamLeaveEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On team kick event listener.
+     *
+     * @param event the team kick event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeamKick(TeamKickEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On island rank change event listener.
+     *
+     * @param event the island rank change event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRankChange(IslandRankChangeEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * On island protection range change event listener.
+     *
+     * @param event the island protection range change event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onProtectionRangeChange(IslandProtectionRangeChangeEvent event)
+    {
+        this.addon.getAddonManager().scheduleIslandUpdate(event.getIsland());
+    }
+
+
+    /**
+     * Instance of visit addon.
+     */
+    private final VisitAddon addon;
+}
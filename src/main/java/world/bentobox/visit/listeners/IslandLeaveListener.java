@@ -8,27 +8,31 @@ package world.bentobox.visit.listeners;
 
 
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
+import org.jetbrains.annotations.Nullable;
 
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.managers.IslandDirectory;
+import world.bentobox.visit.managers.VisitorSession;
 import world.bentobox.visit.utils.Constants;
 import world.bentobox.visit.utils.Utils;
 
 
 /**
  * This listener sends chat message to island owners when visitor leaves the island.
+ * <p>
+ * Listener is registered by {@link world.bentobox.visit.managers.VisitorSessionRegistry} only while there are active
+ * visitor sessions and event detection mode is used. In scan detection mode {@link #processMove} is called by
+ * {@link world.bentobox.visit.managers.VisitorScanner}.
  */
 public class IslandLeaveListener implements Listener
 {
@@ -51,7 +55,7 @@ public class IslandLeaveListener implements Listener
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onMove(PlayerMoveEvent event)
     {
-        this.handleExitMessage(User.getInstance(event.getPlayer()), event.getFrom(), event.getTo());
+        this.handleExitMessage(event.getPlayer(), event.getFrom(), event.getTo());
     }
 
 
@@ -63,37 +67,77 @@ public class IslandLeaveListener implements Listener
     @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
     public void onTeleport(PlayerTeleportEvent event)
     {
-        this.handleExitMessage(User.getInstance(event.getPlayer()), event.getFrom(), event.getTo());
+        this.handleExitMessage(event.getPlayer(), event.getFrom(), event.getTo());
     }
 
 
     /**
      * This method handles player exit island messaging.
-     * @param user User who need to be checked.
+     * @param player Player who need to be checked.
      * @param from From location.
      * @param to To location.
-     * @param event Player Move event.
      */
-    private void handleExitMessage(@NotNull User user,
+    private void handleExitMessage(@NotNull Player player,
         @NotNull Location from,
-        @NotNull Location to)
+        @Nullable Location to)
     {
-        if (!IslandLeaveListener.trackedPlayerSet.contains(user.getUniqueId()))
+        if (to == null)
+        {
+            return;
+        }
+
+        VisitorSession session = this.addon.getAddonManager().getVisitorSessionRegistry().
+            getSession(player.getUniqueId());
+
+        if (session == null)
         {
             // This player is not visiting any island. Ignore it.
             return;
         }
 
-        // Only process if there is a change in X or Z coords
-        if (from.getWorld() != null &&
-            from.getWorld().equals(to.getWorld()) &&
-            from.toVector().multiply(XZ).equals(to.toVector().multiply(XZ)))
+        this.processMove(player, session,
+            from.getWorld(), from.getBlockX(), from.getBlockZ(),
+            to.getWorld(), to.getBlockX(), to.getBlockZ());
+    }
+
+
+    /**
+     * This method checks if visitor left the island while moving between given block coordinates and sends exit
+     * message to island members.
+     *
+     * @param player Player who need to be checked.
+     * @param session Visitor session of the player.
+     * @param fromWorld From world.
+     * @param fromX From block X coordinate.
+     * @param fromZ From block Z coordinate.
+     * @param toWorld To world.
+     * @param toX To block X coordinate.
+     * @param toZ To block Z coordinate.
+     */
+    public void processMove(@NotNull Player player,
+        @NotNull VisitorSession session,
+        World fromWorld, int fromX, int fromZ,
+        World toWorld, int toX, int toZ)
+    {
+        // Only process if there is a change in X or Z block (or chunk) coords
+        int shift = this.addon.getSettings().getMoveGranularity().getShift();
+
+        if (fromWorld != null &&
+            fromWorld == toWorld &&
+            fromX >> shift == toX >> shift &&
+            fromZ >> shift == toZ >> shift)
+        {
+            return;
+        }
+
+        if (session.contains(fromWorld, fromX, fromZ) && session.contains(toWorld, toX, toZ))
         {
+            // Player is still inside the same island. No need to look for islands.
             return;
         }
 
-        Optional<Island> islandFrom = this.addon.getIslands().getProtectedIslandAt(from);
-        Optional<Island> islandTo = this.addon.getIslands().getProtectedIslandAt(to);
+        Island islandFrom = this.getIslandAt(fromWorld, fromX, fromZ);
+        Island islandTo = this.getIslandAt(toWorld, toX, toZ);
 
         /*
          * Options:
@@ -104,50 +148,64 @@ public class IslandLeaveListener implements Listener
          * from = empty, to = empty
          * from = island, to = island
          */
-        if (islandFrom.equals(islandTo))
+        if (islandFrom == islandTo)
         {
+            if (islandFrom != null)
+            {
+                // Remember island bounds, so next moves inside it can be checked without island lookup.
+                session.updateBounds(islandFrom, fromWorld);
+            }
+
             return;
         }
 
+        User user = User.getInstance(player);
+
         // Now handle the messaging.
-        // Remove player from tracking set.
-        IslandLeaveListener.trackedPlayerSet.remove(user.getUniqueId());
+        // End visitor session.
+        this.addon.getAddonManager().getVisitorSessionRegistry().endSession(user.getUniqueId());
 
         // Send message to island members.
-        islandFrom.ifPresent(island -> {
-            if (!island.getMemberSet().contains(user.getUniqueId()) &&
-                island.isAllowed(VisitAddon.RECEIVE_VISIT_MESSAGE_FLAG))
+        if (islandFrom != null &&
+            !islandFrom.getMemberSet().contains(user.getUniqueId()) &&
+            islandFrom.isAllowed(VisitAddon.RECEIVE_VISIT_MESSAGE_FLAG))
+        {
+            // Send message that player is visiting the island.
+            islandFrom.getMemberSet().forEach(uuid ->
             {
-                // Send message that player is visiting the island.
-                island.getMemberSet().forEach(uuid ->
+                User member = User.getInstance(uuid);
+
+                if (member.isOnline())
                 {
-                    User member = User.getInstance(uuid);
-
-                    if (member.isOnline())
-                    {
-                        Utils.sendMessage(member,
-                            member.getTranslation(ISLAND_MESSAGE, Constants.PARAMETER_PLAYER, user.getName()));
-                    }
-                });
-            }
-        });
+                    Utils.sendMessage(member,
+                        member.getTranslation(ISLAND_MESSAGE, Constants.PARAMETER_PLAYER, user.getName()));
+                }
+            });
+        }
     }
 
 
     /**
-     * Instance of visit addon.
+     * This method returns owned island at given block coordinates. It uses island directory spatial index, so lookup
+     * does not allocate any objects.
+     *
+     * @param world World of the block.
+     * @param blockX Block X coordinate.
+     * @param blockZ Block Z coordinate.
+     * @return Island at given coordinates or {@code null} if there is no owned island.
      */
-    private final VisitAddon addon;
+    @Nullable
+    private Island getIslandAt(World world, int blockX, int blockZ)
+    {
+        IslandDirectory directory = this.addon.getAddonManager().findIslandDirectory(world);
+        return directory == null ? null : directory.getIslandAt(blockX, blockZ);
+    }
 
-    /**
-     * Set of tracked players.
-     */
-    public static Set<UUID> trackedPlayerSet = new HashSet<>();
 
     /**
-     * Coordinate normalization vector.
+     * Instance of visit addon.
      */
-    private static final Vector XZ = new Vector(1,0,1);
+    private final VisitAddon addon;
 
     /**
      * The island send message constant.
@@ -0,0 +1,142 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+
+package world.bentobox.visit.listeners;
+
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import world.bentobox.bentobox.api.events.island.IslandDeleteEvent;
+import world.bentobox.bentobox.api.events.island.IslandRankChangeEvent;
+import world.bentobox.bentobox.api.events.team.TeamJoinedEvent;
+import world.bentobox.bentobox.api.events.team.TeamKickEvent;
+import world.bentobox.bentobox.api.events.team.TeamLeaveEvent;
+import world.bentobox.bentobox.api.events.team.TeamSetownerEvent;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This listener keeps online member index up to date when players join or leave the server and when island team
+ * changes.
+ */
+public class OnlineMemberListener implements Listener
+{
+    /**
+     * Instantiates a new Online member listener.
+     *
+     * @param addon the addon
+     */
+    public OnlineMemberListener(VisitAddon addon)
+    {
+        this.addon = addon;
+    }
+
+
+    /**
+     * On player join event listener.
+     *
+     * @param event the player join event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event)
+    {
+        this.addon.getAddonManager().getOnlineMemberIndex().onPlayerJoin(event.getPlayer().getUniqueId());
+    }
+
+
+    /**
+     * On player quit event listener.
+     *
+     * @param event the player quit event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event)
+    {
+        this.addon.getAddonManager().getOnlineMemberIndex().onPlayerQuit(event.getPlayer().getUniqueId());
+    }
+
+
+    /**
+     * On team joined event listener.
+     *
+     * @param event the team joined event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeamJoined(TeamJoinedEvent event)
+    {
+        this.addon.getAddonManager().getOnlineMemberIndex().scheduleRecount(event.getIsland());
+    }
+
+
+    /**
+     * On team leave event listener.
+     *
+     * @param event the team leave event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeamLeave(TeamLeaveEvent event)
+    {
+        this.addon.getAddonManager().getOnlineMemberIndex().scheduleRecount(event.getIsland());
+    }
+
+
+    /**
+     * On team kick event listener.
+     *
+     * @param event the team kick event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeamKick(TeamKickEvent event)
+    {
+        this.addon.getAddonManager().getOnlineMemberIndex().scheduleRecount(event.getIsland());
+    }
+
+
+    /**
+     * On team setowner event listener.
+     *
+     * @param event the team setowner event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeamSetowner(TeamSetownerEvent event)
+    {
+        this.addon.getAddonManager().getOnlineMemberIndex().scheduleRecount(event.getIsland());
+    }
+
+
+    /**
+     * On island rank change event listener. Rank change can add or remove player from island members.
+     *
+     * @param event the island rank change event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRankChange(IslandRankChangeEvent event)
+    {
+        this.addon.getAddonManager().getOnlineMemberIndex().scheduleRecount(event.getIsland());
+    }
+
+
+    /**
+     * On island delete event listener.
+     *
+     * @param event the island delete event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIslandDelete(IslandDeleteEvent event)
+    {
+        this.addon.getAddonManager().getOnlineMemberIndex().scheduleRecount(event.getIsland());
+    }
+
+
+    /**
+     * Instance of visit addon.
+     */
+    private final VisitAddon addon;
+}
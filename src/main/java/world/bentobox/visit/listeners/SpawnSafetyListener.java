@@ -0,0 +1,264 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+
+package world.bentobox.visit.listeners;
+
+
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import java.util.List;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.managers.IslandDirectory;
+import world.bentobox.visit.managers.VisitAddonManager;
+
+
+/**
+ * This listener invalidates cached spawn point safety and found safe locations when blocks around them are changed.
+ */
+public class SpawnSafetyListener implements Listener
+{
+    /**
+     * Instantiates a new Spawn safety listener.
+     *
+     * @param addon the addon
+     */
+    public SpawnSafetyListener(VisitAddon addon)
+    {
+        this.addon = addon;
+    }
+
+
+    /**
+     * On block place event listener.
+     *
+     * @param event the block place event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * On block break event listener.
+     *
+     * @param event the block break event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * On block burn event listener.
+     *
+     * @param event the block burn event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * On block from to event listener. Lava and water can flow into spawn point.
+     *
+     * @param event the block from to event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent event)
+    {
+        this.invalidate(event.getToBlock());
+    }
+
+
+    /**
+     * On block explode event listener.
+     *
+     * @param event the block explode event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event)
+    {
+        event.blockList().forEach(this::invalidate);
+    }
+
+
+    /**
+     * On entity explode event listener.
+     *
+     * @param event the entity explode event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event)
+    {
+        event.blockList().forEach(this::invalidate);
+    }
+
+
+    /**
+     * On player bucket empty event listener. Lava and water can be placed at spawn point.
+     *
+     * @param event the player bucket empty event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * On block ignite event listener.
+     *
+     * @param event the block ignite event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockIgnite(BlockIgniteEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * On block spread event listener. Fire can spread to spawn point.
+     *
+     * @param event the block spread event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockSpread(BlockSpreadEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * On block form event listener. Snow, ice and concrete can be formed at spawn point.
+     *
+     * @param event the block form event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * On block fade event listener. Ice can melt into water under spawn point.
+     *
+     * @param event the block fade event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * On block piston extend event listener.
+     *
+     * @param event the block piston extend event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event)
+    {
+        // Piston head is placed in front of the piston.
+        this.invalidate(event.getBlock().getRelative(event.getDirection()));
+        this.invalidate(event.getBlocks(), event.getDirection());
+    }
+
+
+    /**
+     * On block piston retract event listener.
+     *
+     * @param event the block piston retract event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event)
+    {
+        // Piston head is removed from the front of the piston.
+        this.invalidate(event.getBlock().getRelative(event.getDirection().getOppositeFace()));
+        this.invalidate(event.getBlocks(), event.getDirection());
+    }
+
+
+    /**
+     * On entity change block event listener. Falling blocks and mobs can change blocks at spawn point.
+     *
+     * @param event the entity change block event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event)
+    {
+        this.invalidate(event.getBlock());
+    }
+
+
+    /**
+     * This method invalidates cached spawn point safety and safe location near blocks that are moved by piston and
+     * near their new positions.
+     *
+     * @param blocks Moved blocks.
+     * @param direction Direction in which blocks are moved.
+     */
+    private void invalidate(List<Block> blocks, BlockFace direction)
+    {
+        blocks.forEach(block -> {
+            this.invalidate(block);
+            this.invalidate(block.getRelative(direction));
+        });
+    }
+
+
+    /**
+     * This method invalidates cached spawn point safety and safe location near given block.
+     *
+     * @param block Changed block.
+     */
+    private void invalidate(Block block)
+    {
+        VisitAddonManager manager = this.addon.getAddonManager();
+        IslandDirectory directory = manager.findIslandDirectory(block.getWorld());
+
+        if (directory == null)
+        {
+            return;
+        }
+
+        Island island = directory.getIslandAt(block.getX(), block.getZ());
+
+        if (island == null)
+        {
+            return;
+        }
+
+        manager.getSpawnSafetyValidator().
+            invalidate(island, block.getWorld(), block.getX(), block.getY(), block.getZ());
+        manager.getSafeSpotFinder().
+            invalidate(island, block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+
+    /**
+     * Instance of visit addon.
+     */
+    private final VisitAddon addon;
+}
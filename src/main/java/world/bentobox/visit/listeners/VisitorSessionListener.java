@@ -0,0 +1,77 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+
+package world.bentobox.visit.listeners;
+
+
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.managers.VisitorSession;
+
+
+/**
+ * This listener ends visitor sessions when visitor leaves the server or respawns outside the island it is on. Chunks
+ * that were preloaded for leaving visitor and its cached balance are released.
+ */
+public class VisitorSessionListener implements Listener
+{
+    /**
+     * Instantiates a new Visitor session listener.
+     *
+     * @param addon the addon
+     */
+    public VisitorSessionListener(VisitAddon addon)
+    {
+        this.addon = addon;
+    }
+
+
+    /**
+     * On player quit event listener.
+     *
+     * @param event the player quit event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event)
+    {
+        this.addon.getAddonManager().getVisitorSessionRegistry().endSession(event.getPlayer().getUniqueId());
+        this.addon.getAddonManager().getChunkPreloader().release(event.getPlayer().getUniqueId());
+        this.addon.getAddonManager().getBalanceCache().invalidate(event.getPlayer().getUniqueId());
+    }
+
+
+    /**
+     * On player respawn event listener. Respawning does not call teleport event, so visitor who respawns outside the
+     * island would be tracked forever.
+     *
+     * @param event the player respawn event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event)
+    {
+        VisitorSession session = this.addon.getAddonManager().getVisitorSessionRegistry().
+            getSession(event.getPlayer().getUniqueId());
+        Location location = event.getRespawnLocation();
+
+        if (session != null &&
+            !session.contains(location.getWorld(), location.getBlockX(), location.getBlockZ()))
+        {
+            this.addon.getAddonManager().getVisitorSessionRegistry().endSession(session.getVisitor());
+        }
+    }
+
+
+    /**
+     * Instance of visit addon.
+     */
+    private final VisitAddon addon;
+}
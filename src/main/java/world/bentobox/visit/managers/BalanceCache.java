@@ -0,0 +1,142 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.util.Util;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class caches player balances for a short time. Panels check visit price for each displayed island, so balance
+ * is requested from economy once per render and shared between page flips instead of querying economy for each
+ * island button.
+ * <p>
+ * Cached balance is used only for displaying. Payments always check balance in economy. Balances are requested on
+ * the main thread, but can be invalidated from economy threads.
+ */
+public class BalanceCache
+{
+    /**
+     * Constructor BalanceCache creates a new BalanceCache instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public BalanceCache(VisitAddon addon)
+    {
+        this.addon = addon;
+        this.balanceMap = new ConcurrentHashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method returns balance of given user in given world. If cached balance is expired, then it is requested
+     * from economy.
+     *
+     * @param user User which balance must be returned.
+     * @param world World where balance must be checked.
+     * @return User balance or {@link Double#MAX_VALUE} if economy is not available.
+     */
+    public double getBalance(@NotNull User user, @NotNull World world)
+    {
+        World gameWorld = Util.getWorld(world);
+        long now = System.currentTimeMillis();
+
+        CachedBalance cached = this.balanceMap.get(user.getUniqueId());
+
+        if (cached != null && cached.world() == gameWorld && now - cached.timestamp() < BalanceCache.EXPIRE_TIME)
+        {
+            return cached.balance();
+        }
+
+        double balance = this.requestBalance(user, gameWorld);
+        this.balanceMap.put(user.getUniqueId(), new CachedBalance(gameWorld, balance, now));
+        return balance;
+    }
+
+
+    /**
+     * This method removes cached balance of given player.
+     *
+     * @param uuid Player UUID.
+     */
+    public void invalidate(@NotNull UUID uuid)
+    {
+        this.balanceMap.remove(uuid);
+    }
+
+
+    /**
+     * This method removes all cached balances.
+     */
+    public void clear()
+    {
+        this.balanceMap.clear();
+    }
+
+
+    /**
+     * This method requests user balance from economy.
+     *
+     * @param user User which balance must be returned.
+     * @param world World where balance must be checked.
+     * @return User balance or {@link Double#MAX_VALUE} if economy is not available.
+     */
+    private double requestBalance(User user, World world)
+    {
+        return this.addon.getEconomyBackend().isEnabled() ?
+            this.addon.getEconomyBackend().getBalance(user, world) :
+            Double.MAX_VALUE;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This record stores balance and time when it was requested.
+     *
+     * @param world World where balance was requested.
+     * @param balance User balance.
+     * @param timestamp Time when balance was requested.
+     */
+    private record CachedBalance(World world, double balance, long timestamp) {}
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Time in milliseconds after which cached balance must be requested again.
+     */
+    private static final long EXPIRE_TIME = 5000L;
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Map that links player UUID with cached balance.
+     */
+    private final Map<UUID, CachedBalance> balanceMap;
+}
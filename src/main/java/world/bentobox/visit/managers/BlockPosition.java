@@ -0,0 +1,52 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+
+/**
+ * This record stores block position. It is used to cache teleport locations that were found safe.
+ *
+ * @param world World of the block.
+ * @param x Block X coordinate.
+ * @param y Block Y coordinate.
+ * @param z Block Z coordinate.
+ */
+record BlockPosition(World world, int x, int y, int z)
+{
+    /**
+     * This method creates block position of given location.
+     *
+     * @param location Location.
+     * @return Block position of location.
+     */
+    static BlockPosition of(Location location)
+    {
+        return new BlockPosition(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+
+    /**
+     * This method checks if given block can change safety of this position.
+     *
+     * @param world World of the block.
+     * @param x Block X coordinate.
+     * @param y Block Y coordinate.
+     * @param z Block Z coordinate.
+     * @return {@code true} if block is next to this position, {@code false} otherwise.
+     */
+    boolean isNear(World world, int x, int y, int z)
+    {
+        return this.world == world &&
+            Math.abs(this.x - x) <= 1 &&
+            Math.abs(this.z - z) <= 1 &&
+            y >= this.y - 1 &&
+            y <= this.y + 1;
+    }
+}
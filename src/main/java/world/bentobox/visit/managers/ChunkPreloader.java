@@ -0,0 +1,276 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.*;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.util.Util;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class loads chunks around island spawn point asynchronously as soon as visit is requested, so they are loaded
+ * when teleport delay ends. Loaded chunks are kept with chunk tickets until visit is finished, visitor requests
+ * another visit or leaves the server, or preload times out.
+ * <p>
+ * Each preload is identified by the handle that {@link #preload(UUID, Island)} returns, so a finished visit releases
+ * only its own chunks, and not chunks of a newer visit of the same visitor.
+ * <p>
+ * Asynchronous chunk loads cannot be stopped, but chunks that are loaded after visit is abandoned are not kept
+ * loaded. This class must be used only from the main thread, except release methods.
+ */
+public class ChunkPreloader
+{
+    /**
+     * Constructor ChunkPreloader creates a new ChunkPreloader instance.
+     *
+     * @param addon Visit addon instance.
+     * @param ticketRegistry Registry that keeps chunks loaded.
+     */
+    public ChunkPreloader(VisitAddon addon, ChunkTicketRegistry ticketRegistry)
+    {
+        this.addon = addon;
+        this.ticketRegistry = ticketRegistry;
+        this.preloadMap = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method starts loading chunks around spawn point of given island for given visitor. Previous preload of
+     * the same visitor is released.
+     *
+     * @param visitor Visitor UUID.
+     * @param island Island that will be visited.
+     * @return Preload handle that must be released when visit is finished, or {@code null} if nothing is preloaded.
+     */
+    @Nullable
+    public Preload preload(@NotNull UUID visitor, @NotNull Island island)
+    {
+        this.releasePreload(visitor);
+
+        int radius = this.addon.getSettings().getPreloadRadius();
+        Location location = island.getSpawnPoint(World.Environment.NORMAL);
+
+        if (location == null)
+        {
+            location = island.getProtectionCenter();
+        }
+
+        if (radius < 0 || location == null || location.getWorld() == null)
+        {
+            return null;
+        }
+
+        World world = location.getWorld();
+        int centerX = location.getBlockX() >> 4;
+        int centerZ = location.getBlockZ() >> 4;
+
+        Preload preload = new Preload(visitor, world);
+        this.preloadMap.put(visitor, preload);
+
+        preload.task = Bukkit.getScheduler().runTaskLater(this.addon.getPlugin(),
+            () -> this.releasePreload(preload),
+            Math.max(1, this.addon.getSettings().getPreloadTimeout()) * 20L);
+
+        for (int x = centerX - radius; x <= centerX + radius; x++)
+        {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++)
+            {
+                final int chunkX = x;
+                final int chunkZ = z;
+
+                Util.getChunkAtAsync(world, chunkX, chunkZ).thenRun(() ->
+                    this.runOnMainThread(() -> {
+                        if (!preload.released)
+                        {
+                            // Keep chunk loaded until visit is finished.
+                            this.ticketRegistry.acquire(world, chunkX, chunkZ);
+                            preload.chunks.add(new int[] { chunkX, chunkZ });
+                        }
+                    }));
+            }
+        }
+
+        return preload;
+    }
+
+
+    /**
+     * This method releases chunks that were preloaded for given visitor. It can be called from any thread.
+     *
+     * @param visitor Visitor UUID.
+     */
+    public void release(@NotNull UUID visitor)
+    {
+        this.runOnMainThread(() -> this.releasePreload(visitor));
+    }
+
+
+    /**
+     * This method releases chunks of given preload. Newer preload of the same visitor is not released. It can be
+     * called from any thread.
+     *
+     * @param preload Preload handle.
+     */
+    public void release(@NotNull Preload preload)
+    {
+        this.runOnMainThread(() -> this.releasePreload(preload));
+    }
+
+
+    /**
+     * This method releases all preloaded chunks.
+     */
+    public void releaseAll()
+    {
+        new ArrayList<>(this.preloadMap.keySet()).forEach(this::releasePreload);
+    }
+
+
+    /**
+     * This method releases chunks that were preloaded for given visitor.
+     *
+     * @param visitor Visitor UUID.
+     */
+    private void releasePreload(UUID visitor)
+    {
+        Preload preload = this.preloadMap.get(visitor);
+
+        if (preload != null)
+        {
+            this.releasePreload(preload);
+        }
+    }
+
+
+    /**
+     * This method releases chunks of given preload.
+     *
+     * @param preload Preload handle.
+     */
+    private void releasePreload(Preload preload)
+    {
+        this.preloadMap.remove(preload.visitor, preload);
+
+        if (preload.released)
+        {
+            return;
+        }
+
+        preload.released = true;
+
+        if (preload.task != null)
+        {
+            preload.task.cancel();
+        }
+
+        preload.chunks.forEach(chunk -> this.ticketRegistry.release(preload.world, chunk[0], chunk[1]));
+        preload.chunks.clear();
+    }
+
+
+    /**
+     * This method runs given task on the main thread.
+     *
+     * @param task Task that must be run.
+     */
+    private void runOnMainThread(Runnable task)
+    {
+        if (Bukkit.isPrimaryThread())
+        {
+            task.run();
+        }
+        else
+        {
+            Bukkit.getScheduler().runTask(this.addon.getPlugin(), task);
+        }
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This class stores chunks that are preloaded for a single visit. It is used as a handle that releases them.
+     */
+    public static final class Preload
+    {
+        /**
+         * Constructor Preload creates a new Preload instance.
+         *
+         * @param visitor Visitor UUID.
+         * @param world World of preloaded chunks.
+         */
+        private Preload(UUID visitor, World world)
+        {
+            this.visitor = visitor;
+            this.world = world;
+            this.chunks = new ArrayList<>();
+        }
+
+
+        /**
+         * Visitor UUID.
+         */
+        private final UUID visitor;
+
+        /**
+         * World of preloaded chunks.
+         */
+        private final World world;
+
+        /**
+         * Coordinates of chunks that have ticket.
+         */
+        private final List<int[]> chunks;
+
+        /**
+         * Task that releases chunks after timeout.
+         */
+        private BukkitTask task;
+
+        /**
+         * Indicates that visit is finished or abandoned.
+         */
+        private boolean released;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Registry that keeps chunks loaded.
+     */
+    private final ChunkTicketRegistry ticketRegistry;
+
+    /**
+     * Map that links visitor UUID with chunks that are preloaded for its visit.
+     */
+    private final Map<UUID, Preload> preloadMap;
+}
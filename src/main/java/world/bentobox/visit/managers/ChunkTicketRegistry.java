@@ -0,0 +1,163 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.utils.LongObjectMap;
+
+
+/**
+ * This class counts how many addon features need each chunk to stay loaded. Plugin chunk ticket is added when the
+ * first feature needs the chunk and removed when the last one releases it, as Bukkit stores only a single ticket per
+ * plugin and chunk.
+ * <p>
+ * Counters are stored in primitive long key maps, so acquiring and releasing already counted chunk does not allocate.
+ * <p>
+ * Chunk tickets load chunk synchronously, so chunks should be loaded before ticket is acquired. This class must be
+ * used only from the main thread.
+ */
+public class ChunkTicketRegistry
+{
+    /**
+     * Constructor ChunkTicketRegistry creates a new ChunkTicketRegistry instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public ChunkTicketRegistry(VisitAddon addon)
+    {
+        this.addon = addon;
+        this.ticketMap = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method keeps given chunk loaded until it is released.
+     *
+     * @param world World of the chunk.
+     * @param x Chunk X coordinate.
+     * @param z Chunk Z coordinate.
+     */
+    public void acquire(@NotNull World world, int x, int z)
+    {
+        long key = LongObjectMap.pack(x, z);
+        LongObjectMap<Ticket> worldTickets = this.ticketMap.computeIfAbsent(world, w -> new LongObjectMap<>(64));
+        Ticket ticket = worldTickets.get(key);
+
+        if (ticket == null)
+        {
+            ticket = new Ticket();
+            worldTickets.put(key, ticket);
+            world.addPluginChunkTicket(x, z, this.addon.getPlugin());
+        }
+
+        ticket.count++;
+    }
+
+
+    /**
+     * This method releases given chunk. Chunk ticket is removed when chunk is not needed anymore.
+     *
+     * @param world World of the chunk.
+     * @param x Chunk X coordinate.
+     * @param z Chunk Z coordinate.
+     */
+    public void release(@NotNull World world, int x, int z)
+    {
+        LongObjectMap<Ticket> worldTickets = this.ticketMap.get(world);
+
+        if (worldTickets == null)
+        {
+            return;
+        }
+
+        long key = LongObjectMap.pack(x, z);
+        Ticket ticket = worldTickets.get(key);
+
+        if (ticket == null)
+        {
+            return;
+        }
+
+        if (--ticket.count <= 0)
+        {
+            worldTickets.remove(key);
+            world.removePluginChunkTicket(x, z, this.addon.getPlugin());
+
+            if (worldTickets.size() == 0)
+            {
+                this.ticketMap.remove(world);
+            }
+        }
+    }
+
+
+    /**
+     * This method removes all chunk tickets that were added by this registry.
+     */
+    public void releaseAll()
+    {
+        this.ticketMap.forEach((world, worldTickets) ->
+            worldTickets.forEachKey(key ->
+                world.removePluginChunkTicket((int) (key >> 32), (int) key, this.addon.getPlugin())));
+
+        this.ticketMap.clear();
+    }
+
+
+    /**
+     * This method returns number of chunks that are kept loaded.
+     *
+     * @return Number of chunks with ticket.
+     */
+    public int getTicketCount()
+    {
+        return this.ticketMap.values().stream().mapToInt(LongObjectMap::size).sum();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This class stores number of features that need a single chunk.
+     */
+    private static class Ticket
+    {
+        /**
+         * Number of features that need the chunk.
+         */
+        private int count;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Map that links world with its chunks and number of features that need them.
+     */
+    private final Map<World, LongObjectMap<Ticket>> ticketMap;
+}
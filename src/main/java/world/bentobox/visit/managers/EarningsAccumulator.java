@@ -0,0 +1,358 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.utils.Constants;
+
+
+/**
+ * This class collects island owner earnings in memory and deposits them as a single payment per owner and world.
+ * Collected earnings are deposited once per configured interval, when they reach configured threshold, and when
+ * addon is disabled. Owner receives a single message about all visits that were paid in that period.
+ * <p>
+ * Earnings can be added from economy threads, so all access to collected earnings is synchronized.
+ * <p>
+ * Collected earnings stay in payment journal as withdrawn payments until they are deposited, so they are not lost if
+ * server stops before deposit.
+ */
+public class EarningsAccumulator implements Runnable
+{
+    /**
+     * Constructor EarningsAccumulator creates a new EarningsAccumulator instance.
+     *
+     * @param addon Visit addon instance.
+     * @param manager Manager that processes deposits.
+     */
+    public EarningsAccumulator(VisitAddon addon, VisitAddonManager manager)
+    {
+        this.addon = addon;
+        this.manager = manager;
+        this.earningsMap = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method checks if earnings must be collected instead of deposited after each visit.
+     *
+     * @return {@code true} if earnings are collected, {@code false} otherwise.
+     */
+    public boolean isEnabled()
+    {
+        return this.task != null;
+    }
+
+
+    /**
+     * This method starts or stops flush task based on addon settings. It must be called when settings are changed.
+     */
+    public void updateTask()
+    {
+        if (this.task != null)
+        {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        // Deposit earnings that were collected with previous settings.
+        this.flush();
+
+        int interval = this.addon.getSettings().getEarningsInterval();
+
+        if (interval > 0)
+        {
+            long ticks = interval * 20L;
+            this.task = Bukkit.getScheduler().runTaskTimer(this.addon.getPlugin(), this, ticks, ticks);
+        }
+    }
+
+
+    /**
+     * This method stops flush task and deposits all collected earnings.
+     */
+    public void stop()
+    {
+        if (this.task != null)
+        {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        // Deposits must be started before economy is stopped.
+        this.flush(true);
+    }
+
+
+    /**
+     * This method adds earnings from a single visit. If collected earnings reach threshold, then they are deposited
+     * immediately.
+     *
+     * @param owner Island owner UUID.
+     * @param world World where earnings must be deposited.
+     * @param amount Earned amount.
+     * @param transaction Payment journal id or {@code null} if payment is not journaled.
+     */
+    public void add(@NotNull UUID owner, @NotNull World world, double amount, @Nullable String transaction)
+    {
+        this.add(new EarningsKey(owner, world),
+            amount,
+            1,
+            System.currentTimeMillis(),
+            transaction == null ? Collections.emptyList() : Collections.singletonList(transaction));
+    }
+
+
+    /**
+     * This method deposits all collected earnings.
+     */
+    public void flush()
+    {
+        this.flush(false);
+    }
+
+
+    /**
+     * This method deposits collected earnings on each interval.
+     */
+    @Override
+    public void run()
+    {
+        this.flush();
+    }
+
+
+    /**
+     * This method deposits all collected earnings.
+     *
+     * @param wait {@code true} if deposits must be started before this method returns.
+     */
+    private void flush(boolean wait)
+    {
+        List<Map.Entry<EarningsKey, Earnings>> entries;
+
+        synchronized (this.earningsMap)
+        {
+            if (this.earningsMap.isEmpty())
+            {
+                return;
+            }
+
+            entries = new ArrayList<>(this.earningsMap.entrySet());
+            this.earningsMap.clear();
+        }
+
+        entries.forEach(entry -> this.deposit(entry.getKey(), entry.getValue(), wait));
+    }
+
+
+    /**
+     * This method adds given earnings to collected earnings.
+     *
+     * @param key Owner and world key.
+     * @param amount Earned amount.
+     * @param visits Number of paid visits.
+     * @param since Time when the first visit was paid.
+     * @param transactions Payment journal ids of paid visits.
+     */
+    private void add(EarningsKey key, double amount, int visits, long since, List<String> transactions)
+    {
+        Earnings ready = null;
+
+        synchronized (this.earningsMap)
+        {
+            Earnings earnings = this.earningsMap.computeIfAbsent(key, k -> new Earnings(since));
+            earnings.amount += amount;
+            earnings.visits += visits;
+            earnings.since = Math.min(earnings.since, since);
+            earnings.transactions.addAll(transactions);
+
+            double threshold = this.addon.getSettings().getEarningsThreshold();
+
+            if (threshold > 0 && earnings.amount >= threshold)
+            {
+                ready = this.earningsMap.remove(key);
+            }
+        }
+
+        if (ready != null)
+        {
+            this.deposit(key, ready, false);
+        }
+    }
+
+
+    /**
+     * This method deposits collected earnings to the owner. If deposit fails, then earnings are collected again and
+     * deposited with the next flush.
+     *
+     * @param key Owner and world key.
+     * @param earnings Collected earnings.
+     * @param wait {@code true} if deposit must be started before this method returns.
+     */
+    private void deposit(EarningsKey key, Earnings earnings, boolean wait)
+    {
+        User owner = User.getInstance(key.owner());
+
+        String seconds = String.valueOf(Math.max(1, (System.currentTimeMillis() - earnings.since) / 1000));
+
+        String message = owner.getTranslation(Constants.CONVERSATIONS +
+                (this.addon.getEconomyBackend().isIslandBank() ? "visits-earned-bank" : "visits-earned"),
+            Constants.PARAMETER_NUMBER, String.valueOf(earnings.visits),
+            Constants.PARAMETER_PAYMENT, String.valueOf(earnings.amount),
+            Constants.PARAMETER_VALUE, seconds);
+
+        PaymentJournal journal = this.manager.getPaymentJournal();
+
+        // Deposit is started only when journal knows about it.
+        CompletableFuture<Void> written = CompletableFuture.allOf(earnings.transactions.stream().
+            map(id -> journal.append(id, PaymentJournal.Step.DEPOSITING)).
+            toArray(CompletableFuture[]::new));
+
+        if (wait)
+        {
+            written.handle((value, throwable) -> null).join();
+            this.deposit(key, earnings, owner, message);
+        }
+        else
+        {
+            journal.whenWritten(written, () -> this.deposit(key, earnings, owner, message));
+        }
+    }
+
+
+    /**
+     * This method deposits collected earnings to the owner after deposit is journaled.
+     *
+     * @param key Owner and world key.
+     * @param earnings Collected earnings.
+     * @param owner Island owner.
+     * @param message Message for the owner.
+     */
+    private void deposit(EarningsKey key, Earnings earnings, User owner, String message)
+    {
+        PaymentJournal journal = this.manager.getPaymentJournal();
+
+        CompletableFuture<Boolean> deposit = new CompletableFuture<>();
+        deposit.whenComplete((value, throwable) -> {
+            if (throwable != null || !value)
+            {
+                // Earnings are still owed to the owner.
+                earnings.transactions.forEach(id -> journal.append(id, PaymentJournal.Step.WITHDRAWN));
+
+                if (this.task == null)
+                {
+                    // Nobody will retry the deposit until payment journal is replayed.
+                    this.addon.logError("Could not deposit " + earnings.amount + " to " + key.owner() +
+                        " for " + earnings.visits + " visits.");
+                }
+                else
+                {
+                    this.add(key, earnings.amount, earnings.visits, earnings.since, earnings.transactions);
+                }
+            }
+            else
+            {
+                earnings.transactions.forEach(id -> journal.append(id, PaymentJournal.Step.COMPLETED));
+            }
+        });
+
+        this.manager.depositCredits(owner, earnings.amount, key.world(), deposit, message);
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This record identifies collected earnings.
+     *
+     * @param owner Island owner UUID.
+     * @param world World where earnings must be deposited.
+     */
+    private record EarningsKey(UUID owner, World world) {}
+
+
+    /**
+     * This class stores earnings that are not deposited yet.
+     */
+    private static class Earnings
+    {
+        /**
+         * Constructor Earnings creates a new Earnings instance.
+         *
+         * @param since Time when the first visit was paid.
+         */
+        private Earnings(long since)
+        {
+            this.since = since;
+            this.transactions = new ArrayList<>();
+        }
+
+
+        /**
+         * Collected amount.
+         */
+        private double amount;
+
+        /**
+         * Number of paid visits.
+         */
+        private int visits;
+
+        /**
+         * Time when the first visit was paid.
+         */
+        private long since;
+
+        /**
+         * Payment journal ids of paid visits.
+         */
+        private final List<String> transactions;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Manager that processes deposits.
+     */
+    private final VisitAddonManager manager;
+
+    /**
+     * Map that links owner and world with collected earnings.
+     */
+    private final Map<EarningsKey, Earnings> earningsMap;
+
+    /**
+     * Task that deposits collected earnings on each interval.
+     */
+    private volatile BukkitTask task;
+}
@@ -0,0 +1,432 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.util.Util;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class counts recent visits of each island with a counter that decays over time. Spawn chunks of the most
+ * visited islands are kept loaded with chunk tickets, so visitors of these islands do not wait for chunk loading.
+ * Number of kept chunks is limited by addon settings. Chunks are released when island is not visited anymore.
+ * <p>
+ * This class must be used only from the main thread.
+ */
+public class HotIslandTracker implements Runnable
+{
+    /**
+     * Constructor HotIslandTracker creates a new HotIslandTracker instance.
+     *
+     * @param addon Visit addon instance.
+     * @param ticketRegistry Registry that keeps chunks loaded.
+     */
+    public HotIslandTracker(VisitAddon addon, ChunkTicketRegistry ticketRegistry)
+    {
+        this.addon = addon;
+        this.ticketRegistry = ticketRegistry;
+        this.scoreMap = new HashMap<>();
+        this.heldMap = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method starts or stops update task based on addon settings. It must be called when settings are changed.
+     */
+    public void updateTask()
+    {
+        if (this.task != null)
+        {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        if (this.addon.getSettings().getHotIslandChunks() > 0)
+        {
+            this.task = Bukkit.getScheduler().runTaskTimer(this.addon.getPlugin(),
+                this,
+                UPDATE_INTERVAL,
+                UPDATE_INTERVAL);
+        }
+        else
+        {
+            this.scoreMap.clear();
+        }
+
+        // Radius or chunk limit could be changed.
+        this.run();
+    }
+
+
+    /**
+     * This method stops update task and releases all kept chunks.
+     */
+    public void stop()
+    {
+        if (this.task != null)
+        {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        this.scoreMap.clear();
+        new ArrayList<>(this.heldMap.keySet()).forEach(this::release);
+    }
+
+
+    /**
+     * This method records a visit of given island.
+     *
+     * @param island Visited island.
+     */
+    public void recordVisit(@NotNull Island island)
+    {
+        if (this.task == null)
+        {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        this.scoreMap.computeIfAbsent(island.getUniqueId(), id -> new Score(island, now)).
+            add(1, now, this.getHalfLife());
+    }
+
+
+    /**
+     * This method removes given island from tracking and releases its chunks.
+     *
+     * @param island Island that must be removed.
+     */
+    public void remove(@NotNull Island island)
+    {
+        this.scoreMap.remove(island.getUniqueId());
+        this.release(island.getUniqueId());
+    }
+
+
+    /**
+     * This method returns number of islands which spawn chunks are kept loaded.
+     *
+     * @return Number of hot islands.
+     */
+    public int getHotIslandCount()
+    {
+        return this.heldMap.size();
+    }
+
+
+    /**
+     * This method decays visit counters and updates which island spawn chunks are kept loaded.
+     */
+    @Override
+    public void run()
+    {
+        long now = System.currentTimeMillis();
+        long halfLife = this.getHalfLife();
+
+        this.scoreMap.values().forEach(score -> score.add(0, now, halfLife));
+        this.scoreMap.values().removeIf(score -> score.value < MIN_SCORE / 4 || score.island.isDeleted());
+
+        int radius = Math.max(0, this.addon.getSettings().getPreloadRadius());
+        int chunksPerIsland = (2 * radius + 1) * (2 * radius + 1);
+        int limit = this.addon.getSettings().getHotIslandChunks() / chunksPerIsland;
+
+        Map<String, Island> hotIslands = this.scoreMap.values().stream().
+            filter(score -> score.value >= MIN_SCORE).
+            sorted(Comparator.comparingDouble((Score score) -> score.value).reversed()).
+            limit(Math.max(0, limit)).
+            collect(Collectors.toMap(score -> score.island.getUniqueId(), score -> score.island));
+
+        // Release islands that cooled down, or which spawn point was moved.
+        new ArrayList<>(this.heldMap.entrySet()).forEach(entry -> {
+            Island island = hotIslands.get(entry.getKey());
+
+            if (island == null || !entry.getValue().matches(this.getCenter(island), radius))
+            {
+                this.release(entry.getKey());
+            }
+        });
+
+        hotIslands.forEach((id, island) -> {
+            if (!this.heldMap.containsKey(id))
+            {
+                this.hold(id, island, radius);
+            }
+        });
+    }
+
+
+    /**
+     * This method loads spawn chunks of given island asynchronously and keeps them loaded.
+     *
+     * @param id Island unique id.
+     * @param island Island which chunks must be kept.
+     * @param radius Radius in chunks around spawn chunk.
+     */
+    private void hold(String id, Island island, int radius)
+    {
+        Location center = this.getCenter(island);
+
+        if (center == null || center.getWorld() == null)
+        {
+            return;
+        }
+
+        World world = center.getWorld();
+        Held held = new Held(world, center.getBlockX() >> 4, center.getBlockZ() >> 4, radius);
+        this.heldMap.put(id, held);
+
+        for (int x = held.centerX - radius; x <= held.centerX + radius; x++)
+        {
+            for (int z = held.centerZ - radius; z <= held.centerZ + radius; z++)
+            {
+                final int chunkX = x;
+                final int chunkZ = z;
+
+                Util.getChunkAtAsync(world, chunkX, chunkZ).thenRun(() ->
+                    Bukkit.getScheduler().runTask(this.addon.getPlugin(), () -> {
+                        if (!held.released)
+                        {
+                            this.ticketRegistry.acquire(world, chunkX, chunkZ);
+                            held.chunks.add(new int[] { chunkX, chunkZ });
+                        }
+                    }));
+            }
+        }
+    }
+
+
+    /**
+     * This method releases kept chunks of given island.
+     *
+     * @param id Island unique id.
+     */
+    private void release(String id)
+    {
+        Held held = this.heldMap.remove(id);
+
+        if (held == null)
+        {
+            return;
+        }
+
+        held.released = true;
+        held.chunks.forEach(chunk -> this.ticketRegistry.release(held.world, chunk[0], chunk[1]));
+        held.chunks.clear();
+    }
+
+
+    /**
+     * This method returns location around which island chunks are kept.
+     *
+     * @param island Island.
+     * @return Island spawn point or protection center.
+     */
+    private Location getCenter(Island island)
+    {
+        Location location = island.getSpawnPoint(World.Environment.NORMAL);
+        return location == null ? island.getProtectionCenter() : location;
+    }
+
+
+    /**
+     * This method returns visit counter half life in milliseconds.
+     *
+     * @return Half life in milliseconds.
+     */
+    private long getHalfLife()
+    {
+        return Math.max(1, this.addon.getSettings().getHotIslandHalfLife()) * 60000L;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This class stores decaying visit counter of a single island.
+     */
+    private static class Score
+    {
+        /**
+         * Constructor Score creates a new Score instance.
+         *
+         * @param island Tracked island.
+         * @param time Time when counter was created.
+         */
+        private Score(Island island, long time)
+        {
+            this.island = island;
+            this.time = time;
+        }
+
+
+        /**
+         * This method decays counter to given time and adds given amount.
+         *
+         * @param amount Amount that must be added.
+         * @param now Current time in milliseconds.
+         * @param halfLife Half life in milliseconds.
+         */
+        private void add(double amount, long now, long halfLife)
+        {
+            if (now > this.time)
+            {
+                this.value *= Math.pow(0.5, (double) (now - this.time) / halfLife);
+                this.time = now;
+            }
+
+            this.value += amount;
+        }
+
+
+        /**
+         * Tracked island.
+         */
+        private final Island island;
+
+        /**
+         * Decayed number of visits.
+         */
+        private double value;
+
+        /**
+         * Time when counter was decayed last time.
+         */
+        private long time;
+    }
+
+
+    /**
+     * This class stores chunks that are kept loaded for a single island.
+     */
+    private static class Held
+    {
+        /**
+         * Constructor Held creates a new Held instance.
+         *
+         * @param world World of kept chunks.
+         * @param centerX Spawn chunk X coordinate.
+         * @param centerZ Spawn chunk Z coordinate.
+         * @param radius Radius in chunks around spawn chunk.
+         */
+        private Held(World world, int centerX, int centerZ, int radius)
+        {
+            this.world = world;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.radius = radius;
+            this.chunks = new ArrayList<>();
+        }
+
+
+        /**
+         * This method checks if kept chunks still cover given location.
+         *
+         * @param center Island spawn point.
+         * @param radius Current radius in chunks.
+         * @return {@code true} if chunks are up to date, {@code false} otherwise.
+         */
+        private boolean matches(Location center, int radius)
+        {
+            return center != null &&
+                this.world.equals(center.getWorld()) &&
+                this.centerX == center.getBlockX() >> 4 &&
+                this.centerZ == center.getBlockZ() >> 4 &&
+                this.radius == radius;
+        }
+
+
+        /**
+         * World of kept chunks.
+         */
+        private final World world;
+
+        /**
+         * Spawn chunk X coordinate.
+         */
+        private final int centerX;
+
+        /**
+         * Spawn chunk Z coordinate.
+         */
+        private final int centerZ;
+
+        /**
+         * Radius in chunks around spawn chunk.
+         */
+        private final int radius;
+
+        /**
+         * Coordinates of chunks that have ticket.
+         */
+        private final List<int[]> chunks;
+
+        /**
+         * Indicates that island cooled down.
+         */
+        private boolean released;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Number of ticks between updates of kept chunks.
+     */
+    private static final long UPDATE_INTERVAL = 600L;
+
+    /**
+     * Minimal decayed number of visits for island to be kept loaded.
+     */
+    private static final double MIN_SCORE = 2.0;
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Registry that keeps chunks loaded.
+     */
+    private final ChunkTicketRegistry ticketRegistry;
+
+    /**
+     * Map that links island unique id with its visit counter.
+     */
+    private final Map<String, Score> scoreMap;
+
+    /**
+     * Map that links island unique id with its kept chunks.
+     */
+    private final Map<String, Held> heldMap;
+
+    /**
+     * Task that updates kept chunks.
+     */
+    private BukkitTask task;
+}
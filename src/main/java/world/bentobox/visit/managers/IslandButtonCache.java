@@ -0,0 +1,275 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.utils.Constants;
+import world.bentobox.visit.utils.Utils;
+
+
+/**
+ * This class caches viewer independent parts of island buttons: owner name, display name, icon and translated
+ * owner and member lore for each locale. Cached data is invalidated when island name, members, owner permissions
+ * or visit metadata changes, so panels need to compute only viewer specific parts on each render.
+ * <p>
+ * Owner heads are not cached here. Panels request them by owner name, so BentoBox head getter fetches and caches
+ * their textures.
+ * <p>
+ * Cache must be accessed only from the main thread.
+ */
+public class IslandButtonCache
+{
+    /**
+     * Constructor IslandButtonCache creates a new IslandButtonCache instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public IslandButtonCache(VisitAddon addon)
+    {
+        this.addon = addon;
+        this.buttonMap = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method returns cached button data for given island. If data is not cached, it is created.
+     *
+     * @param island Island which button data must be returned.
+     * @return Cached button data.
+     */
+    public IslandButton getButton(@NotNull Island island)
+    {
+        IslandButton button = this.buttonMap.get(island.getUniqueId());
+
+        if (button == null)
+        {
+            button = new IslandButton(island);
+            this.buttonMap.put(island.getUniqueId(), button);
+        }
+
+        return button;
+    }
+
+
+    /**
+     * This method removes cached button data for given island.
+     *
+     * @param island Island which button data must be invalidated.
+     */
+    public void invalidate(@NotNull Island island)
+    {
+        this.buttonMap.remove(island.getUniqueId());
+    }
+
+
+    /**
+     * This method removes all cached button data.
+     */
+    public void clear()
+    {
+        this.buttonMap.clear();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This class stores viewer independent data for single island button.
+     */
+    public final class IslandButton
+    {
+        /**
+         * Constructor IslandButton creates a new IslandButton instance.
+         *
+         * @param island Island which button is cached.
+         */
+        private IslandButton(Island island)
+        {
+            User owner = User.getInstance(island.getOwner());
+
+            this.ownerName = owner.getName();
+            this.displayName = island.getName() != null ? island.getName() : this.ownerName;
+
+            // Check owner for a specific icon
+            Material material = Material.matchMaterial(
+                Utils.getPermissionValue(owner, "visit.icon",
+                    IslandButtonCache.this.addon.getSettings().getIslandIcon().name()));
+
+            // Set material to a default icon from settings.
+            this.icon = material == null ? IslandButtonCache.this.addon.getSettings().getIslandIcon() : material;
+
+            this.memberNames = island.getMemberSet().size() > 1 ?
+                island.getMemberSet().stream().
+                    map(IslandButtonCache.this.addon.getPlayers()::getName).
+                    toArray(String[]::new) :
+                new String[0];
+
+            this.loreMap = new HashMap<>(2);
+        }
+
+
+        /**
+         * This method returns the ownerName value.
+         *
+         * @return the value of ownerName.
+         */
+        public String getOwnerName()
+        {
+            return this.ownerName;
+        }
+
+
+        /**
+         * This method returns island name or owner name if island does not have a name.
+         *
+         * @return the value of displayName.
+         */
+        public String getDisplayName()
+        {
+            return this.displayName;
+        }
+
+
+        /**
+         * This method returns icon that is defined by owner permission or addon settings.
+         *
+         * @return the value of icon.
+         */
+        public Material getIcon()
+        {
+            return this.icon;
+        }
+
+
+        /**
+         * This method returns translated [owner] text for given viewer locale.
+         *
+         * @param viewer User who views the button.
+         * @return Translated owner text.
+         */
+        public String getOwnerText(User viewer)
+        {
+            return this.getLore(viewer)[0];
+        }
+
+
+        /**
+         * This method returns translated [members] text for given viewer locale.
+         *
+         * @param viewer User who views the button.
+         * @return Translated members text.
+         */
+        public String getMemberText(User viewer)
+        {
+            return this.getLore(viewer)[1];
+        }
+
+
+        /**
+         * This method returns translated owner and member text for viewer locale.
+         *
+         * @param viewer User who views the button.
+         * @return Array that contains owner text and member text.
+         */
+        private String[] getLore(User viewer)
+        {
+            return this.loreMap.computeIfAbsent(viewer.getLocale(), locale -> {
+                final String reference = Constants.BUTTONS + "island.";
+
+                // Generate [owner] text.
+                String ownerText = viewer.getTranslationOrNothing(reference + "owner",
+                    Constants.PARAMETER_PLAYER, this.ownerName);
+
+                // Generate [members] text
+                String memberText;
+
+                if (this.memberNames.length > 0)
+                {
+                    StringBuilder memberBuilder = new StringBuilder(
+                        viewer.getTranslationOrNothing(reference + "members-title"));
+
+                    for (String member : this.memberNames)
+                    {
+                        if (memberBuilder.length() > 0)
+                        {
+                            memberBuilder.append("\n");
+                        }
+
+                        memberBuilder.append(viewer.getTranslationOrNothing(reference + "member",
+                            Constants.PARAMETER_PLAYER, member));
+                    }
+
+                    memberText = memberBuilder.toString();
+                }
+                else
+                {
+                    memberText = "";
+                }
+
+                return new String[] { ownerText, memberText };
+            });
+        }
+
+
+        /**
+         * Island owner name.
+         */
+        private final String ownerName;
+
+        /**
+         * Island name or owner name.
+         */
+        private final String displayName;
+
+        /**
+         * Island icon.
+         */
+        private final Material icon;
+
+        /**
+         * Names of island members. Empty if island has only owner.
+         */
+        private final String[] memberNames;
+
+        /**
+         * Map that links locale with translated owner and member text.
+         */
+        private final Map<Locale, String[]> loreMap;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Map that links island unique id with cached button data.
+     */
+    private final Map<String, IslandButton> buttonMap;
+}
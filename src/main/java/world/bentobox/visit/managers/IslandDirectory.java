@@ -0,0 +1,363 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.text.Collator;
+import java.util.*;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class stores all owned islands from a single world in a sorted order. The list is built once and after that
+ * it is updated incrementally from island events, so panels can read already sorted island list without sorting
+ * every island in the world on each open.
+ * <p>
+ * All modifications must be done from the main thread. {@link #getIslands()} returns immutable snapshot that can be
+ * read from any thread.
+ */
+public class IslandDirectory
+{
+    /**
+     * Constructor IslandDirectory creates a new IslandDirectory instance.
+     *
+     * @param addon Visit addon instance.
+     * @param world World which islands are stored in this directory.
+     */
+    public IslandDirectory(VisitAddon addon, World world)
+    {
+        this.addon = addon;
+        this.world = world;
+
+        this.islandList = new ArrayList<>();
+        this.sortKeyMap = new HashMap<>();
+        this.searchIndex = new IslandSearchIndex(addon);
+        this.spatialIndex = new IslandSpatialIndex();
+        this.comparator = Comparator.comparing((Island island) -> this.sortKeyMap.get(island.getUniqueId()));
+
+        // Collator with secondary strength ignores case differences, but keeps accents.
+        this.collator = Collator.getInstance(
+            Locale.forLanguageTag(this.addon.getPlugin().getSettings().getDefaultLanguage()));
+        this.collator.setStrength(Collator.SECONDARY);
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method rebuilds whole directory from islands that are stored in BentoBox island manager.
+     */
+    public void build()
+    {
+        this.islandList.clear();
+        this.sortKeyMap.clear();
+        this.searchIndex.clear();
+        this.spatialIndex.clear();
+
+        Map<String, Island> islandMap = new HashMap<>();
+
+        for (Island island : this.addon.getIslands().getIslands(this.world))
+        {
+            if (this.isValid(island))
+            {
+                islandMap.put(island.getUniqueId(), island);
+                this.sortKeyMap.put(island.getUniqueId(), this.createSortKey(island));
+                this.searchIndex.update(island);
+                this.spatialIndex.update(island);
+            }
+        }
+
+        // Keys are precomputed, so sorting does not require any lookups and can be done in parallel.
+        IslandSortKey[] keys = this.sortKeyMap.values().toArray(new IslandSortKey[0]);
+        Arrays.parallelSort(keys);
+
+        for (IslandSortKey key : keys)
+        {
+            this.islandList.add(islandMap.get(key.getUniqueId()));
+        }
+
+        this.snapshot = null;
+    }
+
+
+    /**
+     * This method returns immutable sorted list of all owned islands in the directory world.
+     *
+     * @return Sorted list of owned islands.
+     */
+    public List<Island> getIslands()
+    {
+        List<Island> current = this.snapshot;
+
+        if (current == null)
+        {
+            current = Collections.unmodifiableList(new ArrayList<>(this.islandList));
+            this.snapshot = current;
+        }
+
+        return current;
+    }
+
+
+    /**
+     * This method returns islands from given collection in the directory order. Islands that are not in the
+     * directory are skipped.
+     *
+     * @param islands Collection of islands that must be sorted.
+     * @return Sorted list of islands.
+     */
+    public List<Island> sort(@NotNull Collection<Island> islands)
+    {
+        List<Island> sortedList = new ArrayList<>(islands.size());
+
+        for (Island island : islands)
+        {
+            if (this.sortKeyMap.containsKey(island.getUniqueId()))
+            {
+                sortedList.add(island);
+            }
+        }
+
+        sortedList.sort(this.comparator);
+        return sortedList;
+    }
+
+
+    /**
+     * This method returns unique ids of islands which name or any member name contains given text.
+     *
+     * @param text Text that must be searched.
+     * @return Set of matching island unique ids.
+     */
+    public Set<String> search(@NotNull String text)
+    {
+        return this.searchIndex.search(text);
+    }
+
+
+    /**
+     * This method updates island position and search terms in the directory. If island is no longer valid (deleted
+     * or without owner), then it is removed from the directory. If island is not in the directory, then it is added.
+     *
+     * @param island Island that must be updated.
+     */
+    public void updateIsland(@NotNull Island island)
+    {
+        if (!this.isValid(island))
+        {
+            this.removeIsland(island);
+            return;
+        }
+
+        IslandSortKey sortKey = this.sortKeyMap.get(island.getUniqueId());
+
+        if (sortKey == null || !sortKey.isValidFor(island))
+        {
+            // Island name or owner is changed. Island must be moved to the new position.
+            this.removeFromList(island);
+            this.sortKeyMap.put(island.getUniqueId(), this.createSortKey(island));
+
+            int index = Collections.binarySearch(this.islandList, island, this.comparator);
+            this.islandList.add(index < 0 ? -index - 1 : index, island);
+            this.snapshot = null;
+        }
+
+        // Island members or protection range could be changed without changing its position.
+        this.searchIndex.update(island);
+        this.spatialIndex.update(island);
+    }
+
+
+    /**
+     * This method removes given island from the directory.
+     *
+     * @param island Island that must be removed.
+     */
+    public void removeIsland(@NotNull Island island)
+    {
+        this.removeFromList(island);
+        this.searchIndex.remove(island);
+        this.spatialIndex.remove(island);
+    }
+
+
+    /**
+     * This method returns owned island which protection area contains given block coordinates.
+     *
+     * @param blockX Block X coordinate.
+     * @param blockZ Block Z coordinate.
+     * @return Island at given coordinates or {@code null} if there is no owned island.
+     */
+    @Nullable
+    public Island getIslandAt(int blockX, int blockZ)
+    {
+        return this.spatialIndex.getIslandAt(blockX, blockZ);
+    }
+
+
+    /**
+     * This method checks if given block coordinates are inside given island protection area.
+     *
+     * @param island Island that must be checked.
+     * @param blockX Block X coordinate.
+     * @param blockZ Block Z coordinate.
+     * @return {@code true} if coordinates are inside island protection area, {@code false} otherwise.
+     */
+    public boolean isInProtectedArea(@NotNull Island island, int blockX, int blockZ)
+    {
+        return this.spatialIndex.contains(island, blockX, blockZ);
+    }
+
+
+    /**
+     * This method returns cached sort key for given island.
+     *
+     * @param island Island which sort key must be returned.
+     * @return IslandSortKey for island or {@code null} if island is not in the directory.
+     */
+    @Nullable
+    public IslandSortKey getSortKey(@NotNull Island island)
+    {
+        return this.sortKeyMap.get(island.getUniqueId());
+    }
+
+
+    /**
+     * This method returns the world value.
+     *
+     * @return the value of world.
+     */
+    public World getWorld()
+    {
+        return this.world;
+    }
+
+
+    /**
+     * This method checks if island can be stored in the directory.
+     *
+     * @param island Island that must be checked.
+     * @return {@code true} if island is owned and not deleted, {@code false} otherwise.
+     */
+    private boolean isValid(Island island)
+    {
+        return island.isOwned() && !island.isDeleted() && this.world.equals(island.getWorld());
+    }
+
+
+    /**
+     * This method removes given island from sorted list and sort key map.
+     *
+     * @param island Island that must be removed.
+     */
+    private void removeFromList(@NotNull Island island)
+    {
+        if (!this.sortKeyMap.containsKey(island.getUniqueId()))
+        {
+            // Island is not in the directory.
+            return;
+        }
+
+        int index = Collections.binarySearch(this.islandList, island, this.comparator);
+
+        if (index >= 0)
+        {
+            this.islandList.remove(index);
+        }
+        else
+        {
+            // Should not happen, but fallback to linear search.
+            this.islandList.removeIf(element -> element.getUniqueId().equals(island.getUniqueId()));
+        }
+
+        this.sortKeyMap.remove(island.getUniqueId());
+        this.snapshot = null;
+    }
+
+
+    /**
+     * This method creates sort key for given island. Display name is island name or owner name if island does not
+     * have a name.
+     *
+     * @param island Island which sort key must be created.
+     * @return IslandSortKey for given island.
+     */
+    private IslandSortKey createSortKey(Island island)
+    {
+        String displayName = island.getName();
+
+        if (displayName == null)
+        {
+            displayName = this.addon.getPlayers().getName(island.getOwner());
+
+            if (displayName == null)
+            {
+                displayName = "";
+            }
+        }
+
+        return new IslandSortKey(island, displayName, this.collator.getCollationKey(displayName));
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * World which islands are stored in this directory.
+     */
+    private final World world;
+
+    /**
+     * Sorted list of all owned islands.
+     */
+    private final List<Island> islandList;
+
+    /**
+     * Map that links island unique id with its sort key. Key must not change while island is in the list.
+     */
+    private final Map<String, IslandSortKey> sortKeyMap;
+
+    /**
+     * Search index over island and member names.
+     */
+    private final IslandSearchIndex searchIndex;
+
+    /**
+     * Spatial index over island protection areas.
+     */
+    private final IslandSpatialIndex spatialIndex;
+
+    /**
+     * Collator that is used to create locale aware sort keys.
+     */
+    private final Collator collator;
+
+    /**
+     * Comparator that sorts islands by their sort key.
+     */
+    private final Comparator<Island> comparator;
+
+    /**
+     * Immutable copy of island list. It is null if list is changed after last snapshot.
+     */
+    private volatile List<Island> snapshot;
+}
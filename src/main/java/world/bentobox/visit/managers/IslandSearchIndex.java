@@ -0,0 +1,259 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.jetbrains.annotations.NotNull;
+import java.util.*;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class stores trigram index over island names and island member names. Search returns unique ids of islands
+ * which name or any member name contains searched text, without checking every island.
+ * <p>
+ * Index is maintained together with {@link IslandDirectory}. All modifications must be done from the main thread.
+ */
+public class IslandSearchIndex
+{
+    /**
+     * Constructor IslandSearchIndex creates a new IslandSearchIndex instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public IslandSearchIndex(VisitAddon addon)
+    {
+        this.addon = addon;
+        this.termMap = new HashMap<>();
+        this.trigramMap = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method removes all islands from the index.
+     */
+    public void clear()
+    {
+        this.termMap.clear();
+        this.trigramMap.clear();
+    }
+
+
+    /**
+     * This method adds or updates given island in the index.
+     *
+     * @param island Island that must be indexed.
+     */
+    public void update(@NotNull Island island)
+    {
+        String[] terms = this.collectTerms(island);
+        String[] oldTerms = this.termMap.get(island.getUniqueId());
+
+        if (Arrays.equals(terms, oldTerms))
+        {
+            // Nothing is changed.
+            return;
+        }
+
+        this.remove(island);
+        this.termMap.put(island.getUniqueId(), terms);
+
+        for (String term : terms)
+        {
+            for (int i = 0; i + 3 <= term.length(); i++)
+            {
+                this.trigramMap.computeIfAbsent(IslandSearchIndex.trigram(term, i), key -> new HashSet<>()).
+                    add(island.getUniqueId());
+            }
+        }
+    }
+
+
+    /**
+     * This method removes given island from the index.
+     *
+     * @param island Island that must be removed.
+     */
+    public void remove(@NotNull Island island)
+    {
+        String[] terms = this.termMap.remove(island.getUniqueId());
+
+        if (terms == null)
+        {
+            return;
+        }
+
+        for (String term : terms)
+        {
+            for (int i = 0; i + 3 <= term.length(); i++)
+            {
+                Long key = IslandSearchIndex.trigram(term, i);
+                Set<String> islandSet = this.trigramMap.get(key);
+
+                if (islandSet != null)
+                {
+                    islandSet.remove(island.getUniqueId());
+
+                    if (islandSet.isEmpty())
+                    {
+                        this.trigramMap.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * This method returns unique ids of all islands which name or member name contains given text. Search is case
+     * insensitive.
+     *
+     * @param text Text that must be searched.
+     * @return Set of island unique ids that match given text.
+     */
+    public Set<String> search(@NotNull String text)
+    {
+        String query = text.toLowerCase(Locale.ROOT);
+        Set<String> resultSet = new HashSet<>();
+
+        if (query.length() < 3)
+        {
+            // Text is too short for trigrams. Check indexed terms directly.
+            this.termMap.forEach((uniqueId, terms) -> {
+                if (IslandSearchIndex.contains(terms, query))
+                {
+                    resultSet.add(uniqueId);
+                }
+            });
+
+            return resultSet;
+        }
+
+        // Find trigram with the smallest island set.
+        Set<String> candidates = null;
+
+        for (int i = 0; i + 3 <= query.length(); i++)
+        {
+            Set<String> islandSet = this.trigramMap.get(IslandSearchIndex.trigram(query, i));
+
+            if (islandSet == null)
+            {
+                // Some trigram is not in the index. Nothing can match.
+                return resultSet;
+            }
+
+            if (candidates == null || islandSet.size() < candidates.size())
+            {
+                candidates = islandSet;
+            }
+        }
+
+        // Trigrams can match in different terms, so candidates must be verified.
+        for (String uniqueId : candidates)
+        {
+            if (IslandSearchIndex.contains(this.termMap.get(uniqueId), query))
+            {
+                resultSet.add(uniqueId);
+            }
+        }
+
+        return resultSet;
+    }
+
+
+    /**
+     * This method collects lower case island name and member names for given island.
+     *
+     * @param island Island which terms must be collected.
+     * @return Array of terms.
+     */
+    private String[] collectTerms(Island island)
+    {
+        List<String> terms = new ArrayList<>(island.getMemberSet().size() + 1);
+
+        if (island.getName() != null)
+        {
+            terms.add(island.getName().toLowerCase(Locale.ROOT));
+        }
+
+        for (UUID uuid : island.getMemberSet())
+        {
+            String name = this.addon.getPlayers().getName(uuid);
+
+            if (name != null && !name.isEmpty())
+            {
+                terms.add(name.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        return terms.toArray(new String[0]);
+    }
+
+
+    /**
+     * This method checks if any term contains given query.
+     *
+     * @param terms Array of terms.
+     * @param query Query text.
+     * @return {@code true} if any term contains query, {@code false} otherwise.
+     */
+    private static boolean contains(String[] terms, String query)
+    {
+        if (terms != null)
+        {
+            for (String term : terms)
+            {
+                if (term.contains(query))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * This method packs three characters from given position into single key.
+     *
+     * @param text Text.
+     * @param index Position of the first character.
+     * @return Trigram key.
+     */
+    private static Long trigram(String text, int index)
+    {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Map that links island unique id with its indexed terms.
+     */
+    private final Map<String, String[]> termMap;
+
+    /**
+     * Map that links trigram with unique ids of islands that contain it.
+     */
+    private final Map<Long, Set<String>> trigramMap;
+}
@@ -0,0 +1,140 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.text.CollationKey;
+import java.util.Objects;
+import java.util.UUID;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+
+/**
+ * This class stores precomputed sort key for single island. Key contains display name (island name or owner name)
+ * and locale aware collation key, so islands can be compared without any user lookups or string normalization.
+ * <p>
+ * Key stores island name and owner that were used to compute it, so it can be detected if key must be refreshed.
+ */
+public final class IslandSortKey implements Comparable<IslandSortKey>
+{
+    /**
+     * Constructor IslandSortKey creates a new IslandSortKey instance.
+     *
+     * @param island Island which key is created.
+     * @param displayName Name that is displayed for the island.
+     * @param collationKey Collation key of display name.
+     */
+    public IslandSortKey(@NotNull Island island, @NotNull String displayName, @NotNull CollationKey collationKey)
+    {
+        this.uniqueId = island.getUniqueId();
+        this.islandName = island.getName();
+        this.owner = island.getOwner();
+        this.displayName = displayName;
+        this.collationKey = collationKey;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method checks if key is still valid for given island. Key is valid while island name and owner is not
+     * changed.
+     *
+     * @param island Island that must be checked.
+     * @return {@code true} if key can be used for given island, {@code false} otherwise.
+     */
+    public boolean isValidFor(@NotNull Island island)
+    {
+        return Objects.equals(this.islandName, island.getName()) && Objects.equals(this.owner, island.getOwner());
+    }
+
+
+    /**
+     * Compares keys by collation key and by island unique id if collation keys are equal.
+     *
+     * @param other Other key.
+     * @return Comparison result.
+     */
+    @Override
+    public int compareTo(@NotNull IslandSortKey other)
+    {
+        int result = this.collationKey.compareTo(other.collationKey);
+        return result != 0 ? result : this.uniqueId.compareTo(other.uniqueId);
+    }
+
+
+    /**
+     * This method returns the uniqueId value.
+     *
+     * @return the value of uniqueId.
+     */
+    public String getUniqueId()
+    {
+        return this.uniqueId;
+    }
+
+
+    /**
+     * This method returns the displayName value.
+     *
+     * @return the value of displayName.
+     */
+    public String getDisplayName()
+    {
+        return this.displayName;
+    }
+
+
+    /**
+     * This method returns the owner value.
+     *
+     * @return the value of owner.
+     */
+    @Nullable
+    public UUID getOwner()
+    {
+        return this.owner;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Island unique id.
+     */
+    private final String uniqueId;
+
+    /**
+     * Island name that was used to create this key.
+     */
+    @Nullable
+    private final String islandName;
+
+    /**
+     * Island owner that was used to create this key.
+     */
+    @Nullable
+    private final UUID owner;
+
+    /**
+     * Name that is displayed for island.
+     */
+    private final String displayName;
+
+    /**
+     * Locale aware collation key of display name.
+     */
+    private final CollationKey collationKey;
+}
@@ -0,0 +1,290 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.utils.LongObjectMap;
+
+
+/**
+ * This class stores island protection areas in a grid of cells keyed by primitive long key. Finding island at given
+ * block coordinates requires a single map lookup and a few integer comparisons, and does not allocate any objects.
+ * <p>
+ * Cells are 64x64 blocks (4x4 chunks), so large protection ranges do not fill the map with too many cells. Index is
+ * maintained together with {@link IslandDirectory}. All modifications must be done from the main thread.
+ */
+public class IslandSpatialIndex
+{
+    /**
+     * Constructor IslandSpatialIndex creates a new IslandSpatialIndex instance.
+     */
+    public IslandSpatialIndex()
+    {
+        this.cellMap = new LongObjectMap<>(1024);
+        this.boundsMap = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method removes all islands from the index.
+     */
+    public void clear()
+    {
+        this.cellMap.clear();
+        this.boundsMap.clear();
+    }
+
+
+    /**
+     * This method adds given island to the index or updates its protection area.
+     *
+     * @param island Island that must be indexed.
+     */
+    public void update(@NotNull Island island)
+    {
+        IslandBounds bounds = this.boundsMap.get(island.getUniqueId());
+
+        if (bounds != null && bounds.isValidFor(island))
+        {
+            // Protection area is not changed.
+            return;
+        }
+
+        this.remove(island);
+
+        bounds = new IslandBounds(island);
+        this.boundsMap.put(island.getUniqueId(), bounds);
+
+        for (int cellX = bounds.minX >> CELL_SHIFT; cellX <= (bounds.maxX - 1) >> CELL_SHIFT; cellX++)
+        {
+            for (int cellZ = bounds.minZ >> CELL_SHIFT; cellZ <= (bounds.maxZ - 1) >> CELL_SHIFT; cellZ++)
+            {
+                long key = LongObjectMap.pack(cellX, cellZ);
+                IslandBounds[] cell = this.cellMap.get(key);
+
+                if (cell == null)
+                {
+                    this.cellMap.put(key, new IslandBounds[] { bounds });
+                }
+                else
+                {
+                    IslandBounds[] newCell = Arrays.copyOf(cell, cell.length + 1);
+                    newCell[cell.length] = bounds;
+                    this.cellMap.put(key, newCell);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * This method removes given island from the index.
+     *
+     * @param island Island that must be removed.
+     */
+    public void remove(@NotNull Island island)
+    {
+        IslandBounds bounds = this.boundsMap.remove(island.getUniqueId());
+
+        if (bounds == null)
+        {
+            return;
+        }
+
+        for (int cellX = bounds.minX >> CELL_SHIFT; cellX <= (bounds.maxX - 1) >> CELL_SHIFT; cellX++)
+        {
+            for (int cellZ = bounds.minZ >> CELL_SHIFT; cellZ <= (bounds.maxZ - 1) >> CELL_SHIFT; cellZ++)
+            {
+                long key = LongObjectMap.pack(cellX, cellZ);
+                IslandBounds[] cell = this.cellMap.get(key);
+
+                if (cell == null)
+                {
+                    continue;
+                }
+
+                IslandBounds[] newCell = Arrays.stream(cell).
+                    filter(element -> element != bounds).
+                    toArray(IslandBounds[]::new);
+
+                if (newCell.length == 0)
+                {
+                    this.cellMap.remove(key);
+                }
+                else
+                {
+                    this.cellMap.put(key, newCell);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * This method returns island which protection area contains given block coordinates.
+     *
+     * @param blockX Block X coordinate.
+     * @param blockZ Block Z coordinate.
+     * @return Island at given coordinates or {@code null} if there is no island.
+     */
+    @Nullable
+    public Island getIslandAt(int blockX, int blockZ)
+    {
+        IslandBounds[] cell = this.cellMap.get(LongObjectMap.pack(blockX >> CELL_SHIFT, blockZ >> CELL_SHIFT));
+
+        if (cell != null)
+        {
+            for (IslandBounds bounds : cell)
+            {
+                if (bounds.contains(blockX, blockZ))
+                {
+                    return bounds.island;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * This method checks if given block coordinates are inside given island protection area.
+     *
+     * @param island Island that must be checked.
+     * @param blockX Block X coordinate.
+     * @param blockZ Block Z coordinate.
+     * @return {@code true} if coordinates are inside island protection area, {@code false} otherwise.
+     */
+    public boolean contains(@NotNull Island island, int blockX, int blockZ)
+    {
+        IslandBounds bounds = this.boundsMap.get(island.getUniqueId());
+
+        if (bounds != null)
+        {
+            return bounds.contains(blockX, blockZ);
+        }
+        else
+        {
+            // Island is not indexed.
+            return blockX >= island.getMinProtectedX() && blockX < island.getMaxProtectedX() &&
+                blockZ >= island.getMinProtectedZ() && blockZ < island.getMaxProtectedZ();
+        }
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This class stores island protection area as primitive block coordinates.
+     */
+    private static final class IslandBounds
+    {
+        /**
+         * Constructor IslandBounds creates a new IslandBounds instance.
+         *
+         * @param island Island which bounds are stored.
+         */
+        private IslandBounds(Island island)
+        {
+            this.island = island;
+            this.minX = island.getMinProtectedX();
+            this.maxX = island.getMaxProtectedX();
+            this.minZ = island.getMinProtectedZ();
+            this.maxZ = island.getMaxProtectedZ();
+        }
+
+
+        /**
+         * This method checks if given block coordinates are inside bounds.
+         *
+         * @param blockX Block X coordinate.
+         * @param blockZ Block Z coordinate.
+         * @return {@code true} if coordinates are inside bounds, {@code false} otherwise.
+         */
+        private boolean contains(int blockX, int blockZ)
+        {
+            return blockX >= this.minX && blockX < this.maxX && blockZ >= this.minZ && blockZ < this.maxZ;
+        }
+
+
+        /**
+         * This method checks if stored bounds still match island protection area.
+         *
+         * @param island Island that must be checked.
+         * @return {@code true} if bounds are not changed, {@code false} otherwise.
+         */
+        private boolean isValidFor(Island island)
+        {
+            return this.island == island &&
+                this.minX == island.getMinProtectedX() &&
+                this.maxX == island.getMaxProtectedX() &&
+                this.minZ == island.getMinProtectedZ() &&
+                this.maxZ == island.getMaxProtectedZ();
+        }
+
+
+        /**
+         * Island which bounds are stored.
+         */
+        private final Island island;
+
+        /**
+         * Minimal protected X coordinate (inclusive).
+         */
+        private final int minX;
+
+        /**
+         * Maximal protected X coordinate (exclusive).
+         */
+        private final int maxX;
+
+        /**
+         * Minimal protected Z coordinate (inclusive).
+         */
+        private final int minZ;
+
+        /**
+         * Maximal protected Z coordinate (exclusive).
+         */
+        private final int maxZ;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Number of bits block coordinates are shifted by to get cell coordinates. Cell is 64x64 blocks.
+     */
+    private static final int CELL_SHIFT = 6;
+
+    /**
+     * Map that links packed cell coordinates with bounds of islands that intersect the cell.
+     */
+    private final LongObjectMap<IslandBounds[]> cellMap;
+
+    /**
+     * Map that links island unique id with its bounds.
+     */
+    private final Map<String, IslandBounds> boundsMap;
+}
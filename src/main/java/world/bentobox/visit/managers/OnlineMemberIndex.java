@@ -0,0 +1,232 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.*;
+
+import world.bentobox.bentobox.api.addons.GameModeAddon;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class stores how many members of each island are online. Index is updated from player join, quit and team
+ * change events, so checking if island has any online member does not require streaming island members.
+ * <p>
+ * All modifications must be done from the main thread.
+ */
+public class OnlineMemberIndex
+{
+    /**
+     * Constructor OnlineMemberIndex creates a new OnlineMemberIndex instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public OnlineMemberIndex(VisitAddon addon)
+    {
+        this.addon = addon;
+        this.onlineCountMap = new HashMap<>();
+        this.onlineIslandMap = new HashMap<>();
+        this.pendingRecounts = new LinkedHashSet<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method rebuilds index from all currently online players.
+     */
+    public void build()
+    {
+        this.onlineCountMap.clear();
+        this.onlineIslandMap.clear();
+
+        for (Player player : Bukkit.getOnlinePlayers())
+        {
+            this.getIslands(player.getUniqueId()).forEach(island -> this.recount(island, null));
+        }
+    }
+
+
+    /**
+     * This method checks if given island has at least one online member.
+     *
+     * @param island Island that must be checked.
+     * @return {@code true} if any island member is online, {@code false} otherwise.
+     */
+    public boolean hasOnlineMembers(@NotNull Island island)
+    {
+        return this.onlineCountMap.containsKey(island.getUniqueId());
+    }
+
+
+    /**
+     * This method returns number of online members in given island.
+     *
+     * @param island Island that must be checked.
+     * @return Number of online island members.
+     */
+    public int getOnlineMembers(@NotNull Island island)
+    {
+        return this.onlineCountMap.getOrDefault(island.getUniqueId(), 0);
+    }
+
+
+    /**
+     * This method returns all islands that have at least one online member.
+     *
+     * @return Unmodifiable collection of islands with online members.
+     */
+    public Collection<Island> getOnlineIslands()
+    {
+        return Collections.unmodifiableCollection(this.onlineIslandMap.values());
+    }
+
+
+    /**
+     * This method updates index after player joined the server.
+     *
+     * @param uuid UUID of player who joined.
+     */
+    public void onPlayerJoin(@NotNull UUID uuid)
+    {
+        this.getIslands(uuid).forEach(island -> {
+            this.recount(island, null);
+
+            if (uuid.equals(island.getOwner()))
+            {
+                // Owner permissions (f.e. island icon) could be changed while player was offline.
+                this.addon.getAddonManager().getIslandButtonCache().invalidate(island);
+            }
+        });
+    }
+
+
+    /**
+     * This method updates index after player left the server. Player is still reported as online while quit event is
+     * processed, so it is excluded from counting.
+     *
+     * @param uuid UUID of player who left.
+     */
+    public void onPlayerQuit(@NotNull UUID uuid)
+    {
+        this.getIslands(uuid).forEach(island -> this.recount(island, uuid));
+    }
+
+
+    /**
+     * This method schedules island recount in the next tick. Team events are called before island members are
+     * changed, so counting must be done after event is processed.
+     *
+     * @param island Island that must be recounted.
+     */
+    public void scheduleRecount(@Nullable Island island)
+    {
+        if (island == null)
+        {
+            return;
+        }
+
+        if (this.pendingRecounts.isEmpty())
+        {
+            Bukkit.getScheduler().runTask(this.addon.getPlugin(), () -> {
+                this.pendingRecounts.forEach(element -> this.recount(element, null));
+                this.pendingRecounts.clear();
+            });
+        }
+
+        this.pendingRecounts.add(island);
+    }
+
+
+    /**
+     * This method counts online members for given island and updates index.
+     *
+     * @param island Island that must be counted.
+     * @param excluded Player who must not be counted as online.
+     */
+    private void recount(@NotNull Island island, @Nullable UUID excluded)
+    {
+        int count = 0;
+
+        if (island.isOwned() && !island.isDeleted())
+        {
+            for (UUID uuid : island.getMemberSet())
+            {
+                if (!uuid.equals(excluded) && Bukkit.getPlayer(uuid) != null)
+                {
+                    count++;
+                }
+            }
+        }
+
+        if (count > 0)
+        {
+            this.onlineCountMap.put(island.getUniqueId(), count);
+            this.onlineIslandMap.put(island.getUniqueId(), island);
+        }
+        else
+        {
+            this.onlineCountMap.remove(island.getUniqueId());
+            this.onlineIslandMap.remove(island.getUniqueId());
+        }
+    }
+
+
+    /**
+     * This method returns all islands in enabled gamemode worlds where given player is in.
+     *
+     * @param uuid Player UUID.
+     * @return List of player islands.
+     */
+    private List<Island> getIslands(UUID uuid)
+    {
+        List<Island> islandList = new ArrayList<>();
+
+        for (GameModeAddon gameMode : this.addon.getAddonManager().getEnabledAddonList())
+        {
+            World world = gameMode.getOverWorld();
+            islandList.addAll(this.addon.getIslands().getIslands(world, uuid));
+        }
+
+        return islandList;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Map that links island unique id with number of online members. Islands without online members are not stored.
+     */
+    private final Map<String, Integer> onlineCountMap;
+
+    /**
+     * Map that links island unique id with island object for islands that have online members.
+     */
+    private final Map<String, Island> onlineIslandMap;
+
+    /**
+     * Set of islands that must be recounted in the next tick.
+     */
+    private final Set<Island> pendingRecounts;
+}
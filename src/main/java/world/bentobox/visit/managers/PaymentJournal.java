@@ -0,0 +1,794 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.utils.Constants;
+
+
+/**
+ * This class stores each step of visit payments in append-only journal file in addon data folder. Records are written
+ * by a single writer thread, which writes all queued records and syncs file to disk once per batch. Each record
+ * returns a future that completes when record is synced, so economy step is started only after it is journaled.
+ * <p>
+ * If journal cannot be opened, new payments are refused, as they could not be finished after server crash.
+ * <p>
+ * When addon is loaded, journal is replayed. Payments that stopped between steps are finished: island owner receives
+ * earnings that were withdrawn from visitor, and visitor receives refund if deposit to owner failed. Steps that were
+ * started, but not confirmed by economy, cannot be finished safely, as economy does not tell if they were processed.
+ * Such payments are logged for server admins.
+ */
+public class PaymentJournal implements Runnable
+{
+    /**
+     * Constructor PaymentJournal creates a new PaymentJournal instance.
+     *
+     * @param addon Visit addon instance.
+     * @param manager Manager that processes deposits.
+     */
+    public PaymentJournal(VisitAddon addon, VisitAddonManager manager)
+    {
+        this.addon = addon;
+        this.manager = manager;
+        this.journalFile = new File(addon.getDataFolder(), "payments.journal");
+        this.queue = new LinkedBlockingQueue<>();
+        this.openEntries = new LinkedHashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method reads journal file, starts writer thread and finishes payments that were not finished when server
+     * stopped. It must be called after economy is hooked.
+     */
+    public void start()
+    {
+        if (this.writerThread != null)
+        {
+            return;
+        }
+
+        this.readJournal();
+
+        try
+        {
+            // Journal contains only unfinished payments after restart.
+            this.compact();
+        }
+        catch (IOException e)
+        {
+            this.addon.logError("Could not open payment journal. Paid visits are disabled: " + e.getMessage());
+            return;
+        }
+
+        List<Entry> unfinished = new ArrayList<>(this.openEntries.values());
+
+        this.writerThread = new Thread(this, "Visit-PaymentJournal");
+        this.writerThread.setDaemon(true);
+        this.open = true;
+        this.writerThread.start();
+
+        unfinished.forEach(this::replay);
+    }
+
+
+    /**
+     * This method writes all queued records and stops writer thread.
+     */
+    public void stop()
+    {
+        if (this.writerThread == null)
+        {
+            return;
+        }
+
+        // New records are not accepted anymore.
+        this.open = false;
+        this.queue.add(STOP);
+
+        try
+        {
+            this.writerThread.join(10000L);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        this.writerThread = null;
+    }
+
+
+    /**
+     * This method starts new payment and writes its first step.
+     *
+     * @param visitor Visitor who pays for the visit.
+     * @param owner Island owner who receives earnings.
+     * @param world World where payment is processed.
+     * @param payment Amount that is withdrawn from visitor.
+     * @param earnings Amount that must be deposited to island owner.
+     * @return Future that completes on writer thread with payment id when the first step is synced to disk, or
+     * completes exceptionally if journal is not available.
+     */
+    public CompletableFuture<String> begin(@NotNull UUID visitor,
+        @Nullable UUID owner,
+        @NotNull World world,
+        double payment,
+        double earnings)
+    {
+        return this.begin(Step.WITHDRAWING, visitor, owner, world, payment, earnings);
+    }
+
+
+    /**
+     * This method starts new payment that returns given amount to visitor. It is used when visit fails after its
+     * payment is finished.
+     *
+     * @param visitor Visitor who receives refund.
+     * @param world World where refund is processed.
+     * @param amount Amount that must be returned.
+     * @return Future that completes on writer thread with payment id when refund is synced to disk, or completes
+     * exceptionally if journal is not available.
+     */
+    public CompletableFuture<String> beginRefund(@NotNull UUID visitor, @NotNull World world, double amount)
+    {
+        return this.begin(Step.DEPOSIT_FAILED, visitor, null, world, amount, 0);
+    }
+
+
+    /**
+     * This method writes the first step of new payment.
+     *
+     * @param step The first step.
+     * @param visitor Visitor who pays for the visit.
+     * @param owner Island owner who receives earnings.
+     * @param world World where payment is processed.
+     * @param payment Amount that is withdrawn from visitor.
+     * @param earnings Amount that must be deposited to island owner.
+     * @return Future that completes with payment id when step is synced to disk.
+     */
+    private CompletableFuture<String> begin(Step step,
+        UUID visitor,
+        @Nullable UUID owner,
+        World world,
+        double payment,
+        double earnings)
+    {
+        if (!this.open)
+        {
+            return CompletableFuture.failedFuture(new IllegalStateException("Payment journal is not open."));
+        }
+
+        String id = UUID.randomUUID().toString();
+        CompletableFuture<Void> written = new CompletableFuture<>();
+
+        this.queue.add(new Pending(new Entry(id,
+            step,
+            visitor,
+            owner,
+            world.getName(),
+            payment,
+            earnings,
+            System.currentTimeMillis()), written));
+
+        return written.thenApply(ignored -> id);
+    }
+
+
+    /**
+     * This method writes next step of given payment. If journal is not open, step is not written.
+     *
+     * @param id Payment id or {@code null} if payment is not journaled.
+     * @param step Step that was reached.
+     * @return Future that completes on writer thread when step is synced to disk.
+     */
+    public CompletableFuture<Void> append(@Nullable String id, @NotNull Step step)
+    {
+        if (id == null || !this.open)
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        this.queue.add(new Pending(new Entry(id, step, null, null, null, 0, 0, System.currentTimeMillis()),
+            written));
+
+        return written;
+    }
+
+
+    /**
+     * This method checks if journal accepts new payments.
+     *
+     * @return {@code true} if journal is open, {@code false} otherwise.
+     */
+    public boolean isOpen()
+    {
+        return this.open;
+    }
+
+
+    /**
+     * This method writes queued records in batches until journal is stopped.
+     */
+    @Override
+    public void run()
+    {
+        List<Pending> batch = new ArrayList<>();
+        boolean running = true;
+
+        while (running)
+        {
+            try
+            {
+                batch.add(this.queue.take());
+            }
+            catch (InterruptedException e)
+            {
+                break;
+            }
+
+            this.queue.drainTo(batch);
+
+            IOException error = null;
+
+            try
+            {
+                for (Pending pending : batch)
+                {
+                    if (pending == STOP)
+                    {
+                        running = false;
+                    }
+                    else
+                    {
+                        this.writer.write(this.apply(pending.entry()));
+                        this.writer.newLine();
+                    }
+                }
+
+                // Single sync for whole batch.
+                this.writer.flush();
+                this.outputStream.getChannel().force(false);
+            }
+            catch (IOException e)
+            {
+                this.addon.logError("Could not write payment journal: " + e.getMessage());
+                error = e;
+            }
+
+            // Economy steps wait until their records are on disk.
+            for (Pending pending : batch)
+            {
+                if (error == null)
+                {
+                    pending.written().complete(null);
+                }
+                else
+                {
+                    pending.written().completeExceptionally(error);
+                }
+            }
+
+            batch.clear();
+
+            try
+            {
+                if (error == null && this.journalFile.length() > MAX_FILE_SIZE)
+                {
+                    this.compact();
+                }
+            }
+            catch (IOException e)
+            {
+                this.addon.logError("Could not compact payment journal: " + e.getMessage());
+            }
+        }
+
+        try
+        {
+            this.writer.close();
+        }
+        catch (IOException e)
+        {
+            this.addon.logError("Could not close payment journal: " + e.getMessage());
+        }
+
+        // Records that were added while journal was stopping.
+        this.queue.forEach(pending ->
+            pending.written().completeExceptionally(new IllegalStateException("Payment journal is closed.")));
+        this.queue.clear();
+    }
+
+
+    /**
+     * This method applies given record to unfinished payment map and returns line that must be written to journal.
+     *
+     * @param entry Journal record.
+     * @return Journal line.
+     */
+    private String apply(Entry entry)
+    {
+        if (entry.visitor() != null)
+        {
+            // First step or compacted payment. Record contains all payment data.
+            this.openEntries.put(entry.id(), entry);
+            return entry.toLine();
+        }
+
+        Entry open = this.openEntries.get(entry.id());
+
+        if (open != null)
+        {
+            if (entry.step().isFinal())
+            {
+                this.openEntries.remove(entry.id());
+            }
+            else
+            {
+                this.openEntries.put(entry.id(), open.withStep(entry.step()));
+            }
+        }
+
+        return entry.id() + " " + entry.step().name();
+    }
+
+
+    /**
+     * This method reads journal file and collects unfinished payments.
+     */
+    private void readJournal()
+    {
+        if (!this.journalFile.exists())
+        {
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(this.journalFile.toPath(), StandardCharsets.UTF_8))
+        {
+            String line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                Entry entry = Entry.fromLine(line);
+
+                if (entry != null)
+                {
+                    this.apply(entry);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            this.addon.logError("Could not read payment journal: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * This method replaces journal file with file that contains only unfinished payments and opens it for
+     * appending.
+     *
+     * @throws IOException if file cannot be written.
+     */
+    private void compact() throws IOException
+    {
+        if (this.writer != null)
+        {
+            this.writer.close();
+        }
+
+        this.addon.getDataFolder().mkdirs();
+        File temporaryFile = new File(this.addon.getDataFolder(), "payments.journal.tmp");
+
+        try (FileOutputStream stream = new FileOutputStream(temporaryFile);
+            BufferedWriter temporaryWriter =
+                new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)))
+        {
+            for (Entry entry : this.openEntries.values())
+            {
+                temporaryWriter.write(entry.toLine());
+                temporaryWriter.newLine();
+            }
+
+            temporaryWriter.flush();
+            stream.getChannel().force(false);
+        }
+
+        Files.move(temporaryFile.toPath(),
+            this.journalFile.toPath(),
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+
+        this.outputStream = new FileOutputStream(this.journalFile, true);
+        this.writer = new BufferedWriter(new OutputStreamWriter(this.outputStream, StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * This method finishes payment that was not finished before server stopped.
+     *
+     * @param entry Unfinished payment.
+     */
+    private void replay(Entry entry)
+    {
+        World world = entry.world() == null ? null : Bukkit.getWorld(entry.world());
+
+        switch (entry.step())
+        {
+            case WITHDRAWN -> {
+                if (entry.owner() == null || entry.earnings() <= 0)
+                {
+                    this.append(entry.id(), Step.COMPLETED);
+                }
+                else if (this.canReplay(entry, world))
+                {
+                    // Visitor paid, but owner did not receive earnings.
+                    User owner = User.getInstance(entry.owner());
+
+                    this.whenWritten(this.append(entry.id(), Step.DEPOSITING), () ->
+                        this.replayDeposit(entry, owner, entry.earnings(), world,
+                            owner.getTranslation(Constants.CONVERSATIONS + "visit-earn",
+                                Constants.PARAMETER_PAYMENT, String.valueOf(entry.earnings()),
+                                Constants.PARAMETER_PLAYER, this.addon.getPlayers().getName(entry.visitor())),
+                            Step.COMPLETED,
+                            Step.WITHDRAWN));
+                }
+            }
+            case DEPOSIT_FAILED -> {
+                if (this.canReplay(entry, world))
+                {
+                    // Owner did not receive earnings and visitor did not receive refund.
+                    User visitor = User.getInstance(entry.visitor());
+
+                    this.whenWritten(this.append(entry.id(), Step.REFUNDING), () ->
+                        this.replayDeposit(entry, visitor, entry.payment(), world,
+                            visitor.getTranslation(Constants.ERRORS + "cannot-deposit-credits",
+                                Constants.PARAMETER_NUMBER, String.valueOf(entry.payment())),
+                            Step.REFUNDED,
+                            Step.DEPOSIT_FAILED));
+                }
+            }
+            default -> {
+                // Economy did not confirm last step, so it is not known if it was processed.
+                this.addon.logWarning("Unfinished visit payment " + entry.toLine() +
+                    " stopped at step that cannot be finished automatically. Please check player balances.");
+                this.append(entry.id(), Step.FAILED);
+            }
+        }
+    }
+
+
+    /**
+     * This method checks if unfinished payment can be replayed now.
+     *
+     * @param entry Unfinished payment.
+     * @param world World where payment was processed.
+     * @return {@code true} if payment can be replayed, {@code false} if it must wait for the next start.
+     */
+    private boolean canReplay(Entry entry, @Nullable World world)
+    {
+        if (world == null || !this.addon.getEconomyBackend().isEnabled())
+        {
+            this.addon.logWarning("Unfinished visit payment " + entry.id() +
+                " cannot be finished now. It will be processed on next start.");
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * This method deposits money for unfinished payment and writes result step.
+     *
+     * @param entry Unfinished payment.
+     * @param user User who receives money.
+     * @param credits Amount that must be deposited.
+     * @param world World where payment was processed.
+     * @param message Message for the user.
+     * @param success Step that is written when deposit succeeds.
+     * @param failure Step that is written when deposit fails.
+     */
+    private void replayDeposit(Entry entry,
+        User user,
+        double credits,
+        World world,
+        String message,
+        Step success,
+        Step failure)
+    {
+        CompletableFuture<Boolean> deposit = new CompletableFuture<>();
+        deposit.whenComplete((value, throwable) -> {
+            if (throwable != null || !value)
+            {
+                this.addon.logWarning("Could not finish visit payment " + entry.id() +
+                    ". It will be processed on next start.");
+                this.append(entry.id(), failure);
+            }
+            else
+            {
+                this.append(entry.id(), success);
+            }
+        });
+
+        this.manager.depositCredits(user, credits, world, deposit, message);
+    }
+
+
+    /**
+     * This method runs given task on the main thread after given journal record is written. Task is run even if
+     * record could not be written, as economy step was already started.
+     *
+     * @param written Future of journal record.
+     * @param task Task that must be run.
+     */
+    void whenWritten(CompletableFuture<?> written, Runnable task)
+    {
+        if (written.isDone())
+        {
+            // Record is not journaled or it is already written.
+            task.run();
+            return;
+        }
+
+        written.whenComplete((value, throwable) -> {
+            if (this.open && this.addon.getPlugin().isEnabled())
+            {
+                Bukkit.getScheduler().runTask(this.addon.getPlugin(), task);
+            }
+            else
+            {
+                // Journal is stopping and main thread waits for it.
+                task.run();
+            }
+        });
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Steps of visit payment.
+     */
+    public enum Step
+    {
+        /**
+         * Payment is being withdrawn from visitor.
+         */
+        WITHDRAWING,
+        /**
+         * Payment is withdrawn from visitor. Earnings are owed to island owner.
+         */
+        WITHDRAWN,
+        /**
+         * Earnings are being deposited to island owner.
+         */
+        DEPOSITING,
+        /**
+         * Earnings are deposited to island owner.
+         */
+        COMPLETED,
+        /**
+         * Earnings could not be deposited to island owner, or visit failed after payment. Payment is owed to
+         * visitor.
+         */
+        DEPOSIT_FAILED,
+        /**
+         * Payment is being returned to visitor.
+         */
+        REFUNDING,
+        /**
+         * Payment is returned to visitor.
+         */
+        REFUNDED,
+        /**
+         * Nothing was withdrawn, or payment was abandoned.
+         */
+        FAILED;
+
+
+        /**
+         * This method checks if payment is finished at this step.
+         *
+         * @return {@code true} if payment is finished, {@code false} otherwise.
+         */
+        public boolean isFinal()
+        {
+            return this == COMPLETED || this == REFUNDED || this == FAILED;
+        }
+    }
+
+
+    /**
+     * This record stores journal record that is waiting to be written.
+     *
+     * @param entry Journal record.
+     * @param written Future that completes when record is synced to disk.
+     */
+    private record Pending(Entry entry, CompletableFuture<Void> written) {}
+
+
+    /**
+     * This record stores single journal record. Only the first step contains payment data.
+     *
+     * @param id Payment id.
+     * @param step Reached step.
+     * @param visitor Visitor who pays for the visit.
+     * @param owner Island owner who receives earnings.
+     * @param world Name of the world where payment is processed.
+     * @param payment Amount that is withdrawn from visitor.
+     * @param earnings Amount that must be deposited to island owner.
+     * @param time Time when step was reached.
+     */
+    private record Entry(String id,
+                         Step step,
+                         UUID visitor,
+                         UUID owner,
+                         String world,
+                         double payment,
+                         double earnings,
+                         long time)
+    {
+        /**
+         * This method returns copy of this record with given step.
+         *
+         * @param newStep New step.
+         * @return Record with new step.
+         */
+        private Entry withStep(Step newStep)
+        {
+            return new Entry(this.id,
+                newStep,
+                this.visitor,
+                this.owner,
+                this.world,
+                this.payment,
+                this.earnings,
+                this.time);
+        }
+
+
+        /**
+         * This method returns journal line that contains all payment data.
+         *
+         * @return Journal line.
+         */
+        private String toLine()
+        {
+            return this.id + " " + this.step.name() + " " +
+                this.visitor + " " +
+                (this.owner == null ? "-" : this.owner.toString()) + " " +
+                this.world + " " +
+                this.payment + " " +
+                this.earnings + " " +
+                this.time;
+        }
+
+
+        /**
+         * This method parses journal line.
+         *
+         * @param line Journal line.
+         * @return Parsed record or {@code null} if line is not valid, f.e. it was not fully written.
+         */
+        @Nullable
+        private static Entry fromLine(String line)
+        {
+            String[] parts = line.trim().split(" ");
+
+            try
+            {
+                if (parts.length == 2)
+                {
+                    return new Entry(parts[0], Step.valueOf(parts[1]), null, null, null, 0, 0, 0);
+                }
+                else if (parts.length == 8)
+                {
+                    return new Entry(parts[0],
+                        Step.valueOf(parts[1]),
+                        UUID.fromString(parts[2]),
+                        parts[3].equals("-") ? null : UUID.fromString(parts[3]),
+                        parts[4],
+                        Double.parseDouble(parts[5]),
+                        Double.parseDouble(parts[6]),
+                        Long.parseLong(parts[7]));
+                }
+            }
+            catch (IllegalArgumentException ignored)
+            {
+                // Broken line. Ignore it.
+            }
+
+            return null;
+        }
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Record that stops writer thread.
+     */
+    private static final Pending STOP =
+        new Pending(new Entry("", Step.FAILED, null, null, null, 0, 0, 0), new CompletableFuture<>());
+
+    /**
+     * Journal file size in bytes after which finished payments are removed from it.
+     */
+    private static final long MAX_FILE_SIZE = 1024L * 1024L;
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Manager that processes deposits.
+     */
+    private final VisitAddonManager manager;
+
+    /**
+     * Journal file.
+     */
+    private final File journalFile;
+
+    /**
+     * Records that are waiting to be written.
+     */
+    private final BlockingQueue<Pending> queue;
+
+    /**
+     * Map that links payment id with its last step. Contains only unfinished payments and is used only by writer
+     * thread after journal is started.
+     */
+    private final Map<String, Entry> openEntries;
+
+    /**
+     * Stream of journal file.
+     */
+    private FileOutputStream outputStream;
+
+    /**
+     * Writer of journal file.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * Thread that writes records.
+     */
+    private Thread writerThread;
+
+    /**
+     * Indicates that journal accepts new records.
+     */
+    private volatile boolean open;
+}
@@ -0,0 +1,450 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class finds the nearest safe location inside island protection area when island spawn point is missing or
+ * unsafe. Chunks are searched in rings around the start location. Snapshots of each ring are taken on the main thread
+ * and searched in parallel on a fork-join pool. When a safe location is found, the next ring is searched too, as it can
+ * contain a closer location.
+ * <p>
+ * Found location is cached for each island until blocks around it are changed. When there is no safe location, it is
+ * cached until any block of the island is changed. Cached results also expire after a short time, as some block
+ * changes do not fire events. Visitors who request the same island while it is searched wait for the same search.
+ * <p>
+ * Methods of this class must be called from the main thread. Returned futures are completed on the main thread.
+ */
+public class SafeSpotFinder
+{
+    /**
+     * Constructor SafeSpotFinder creates a new SafeSpotFinder instance.
+     *
+     * @param addon Visit addon instance.
+     * @param validator Validator that provides chunk snapshots.
+     */
+    public SafeSpotFinder(VisitAddon addon, SpawnSafetyValidator validator)
+    {
+        this.addon = addon;
+        this.validator = validator;
+        this.pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        this.spotMap = new HashMap<>();
+        this.pendingSearches = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method finds the nearest safe location to given start location inside island protection area.
+     *
+     * @param island Island where location must be found.
+     * @param start Location from which search starts.
+     * @return Future that completes on the main thread with safe location or {@code null} if there is none.
+     */
+    public CompletableFuture<Location> find(@NotNull Island island, @NotNull Location start)
+    {
+        World world = start.getWorld();
+
+        if (world == null)
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        BlockPosition startPosition = BlockPosition.of(start);
+        FoundSpot cached = this.spotMap.get(island.getUniqueId());
+
+        if (cached != null &&
+            cached.start().equals(startPosition) &&
+            System.currentTimeMillis() - cached.time() < CACHE_LIFETIME)
+        {
+            // Island was searched before and nothing was changed around found location.
+            return CompletableFuture.completedFuture(this.toLocation(cached.spot(), start));
+        }
+
+        PendingSearch pending = this.pendingSearches.get(island.getUniqueId());
+
+        if (pending != null && pending.start().equals(startPosition))
+        {
+            // Island is already searched for another visitor.
+            return pending.spot().thenApply(spot -> this.toLocation(spot, start));
+        }
+
+        int startChunkX = startPosition.x() >> 4;
+        int startChunkZ = startPosition.z() >> 4;
+
+        Search search = new Search(island.getUniqueId(),
+            world,
+            startPosition,
+            island.getMinProtectedX(),
+            island.getMaxProtectedX(),
+            island.getMinProtectedZ(),
+            island.getMaxProtectedZ(),
+            world.getMinHeight(),
+            world.getMaxHeight(),
+            Math.max(Math.max(Math.abs(startChunkX - (island.getMinProtectedX() >> 4)),
+                    Math.abs(startChunkX - ((island.getMaxProtectedX() - 1) >> 4))),
+                Math.max(Math.abs(startChunkZ - (island.getMinProtectedZ() >> 4)),
+                    Math.abs(startChunkZ - ((island.getMaxProtectedZ() - 1) >> 4)))));
+
+        pending = new PendingSearch(startPosition, new CompletableFuture<>());
+        this.pendingSearches.put(island.getUniqueId(), pending);
+
+        this.searchRing(search, 0, null, -1, pending);
+        return pending.spot().thenApply(spot -> this.toLocation(spot, start));
+    }
+
+
+    /**
+     * This method removes cached location of given island if given block is next to it. Cached result without safe
+     * location is removed on any block change.
+     *
+     * @param island Island where block was changed.
+     * @param world World of changed block.
+     * @param x Block X coordinate.
+     * @param y Block Y coordinate.
+     * @param z Block Z coordinate.
+     */
+    public void invalidate(@NotNull Island island, @NotNull World world, int x, int y, int z)
+    {
+        FoundSpot cached = this.spotMap.get(island.getUniqueId());
+
+        if (cached != null && (cached.spot() == null || cached.spot().isNear(world, x, y, z)))
+        {
+            this.spotMap.remove(island.getUniqueId());
+        }
+
+        // Search result could be outdated.
+        this.pendingSearches.remove(island.getUniqueId());
+    }
+
+
+    /**
+     * This method removes cached location of given island.
+     *
+     * @param island Island which location must be removed.
+     */
+    public void invalidate(@NotNull Island island)
+    {
+        this.spotMap.remove(island.getUniqueId());
+        this.pendingSearches.remove(island.getUniqueId());
+    }
+
+
+    /**
+     * This method stops search threads.
+     */
+    public void shutdown()
+    {
+        this.pool.shutdownNow();
+    }
+
+
+    /**
+     * This method searches given ring of chunks around start chunk and continues with the next ring until the nearest
+     * safe location is found.
+     *
+     * @param search Search parameters.
+     * @param ring Ring index.
+     * @param best The nearest safe location found so far.
+     * @param foundRing Ring where the first safe location was found or {@code -1}.
+     * @param pending Search that is completed with found location.
+     */
+    private void searchRing(Search search,
+        int ring,
+        @Nullable Candidate best,
+        int foundRing,
+        PendingSearch pending)
+    {
+        if (ring > search.maxRing() || foundRing >= 0 && ring > foundRing + 1)
+        {
+            this.finish(search, best, pending);
+            return;
+        }
+
+        List<CompletableFuture<ChunkSnapshot>> snapshots = new ArrayList<>();
+
+        int centerX = search.start().x() >> 4;
+        int centerZ = search.start().z() >> 4;
+
+        for (int x = centerX - ring; x <= centerX + ring; x++)
+        {
+            for (int z = centerZ - ring; z <= centerZ + ring; z++)
+            {
+                if ((Math.abs(x - centerX) == ring || Math.abs(z - centerZ) == ring) &&
+                    search.containsChunk(x, z))
+                {
+                    snapshots.add(this.validator.getSnapshot(search.world(), x, z, true));
+                }
+            }
+        }
+
+        CompletableFuture.allOf(snapshots.toArray(new CompletableFuture[0])).
+            thenApplyAsync(ignored -> snapshots.parallelStream().
+                map(snapshot -> this.searchChunk(search, snapshot.join())).
+                filter(Objects::nonNull).
+                min(Comparator.comparingLong(Candidate::distance)).
+                orElse(null), this.pool).
+            whenComplete((candidate, throwable) -> Bukkit.getScheduler().runTask(this.addon.getPlugin(), () -> {
+                if (throwable != null)
+                {
+                    this.addon.logError("Could not search safe location: " + throwable.getMessage());
+                    this.finish(search, best, pending);
+                    return;
+                }
+
+                Candidate nearest = best == null || candidate != null && candidate.distance() < best.distance() ?
+                    candidate : best;
+
+                this.searchRing(search,
+                    ring + 1,
+                    nearest,
+                    foundRing < 0 && nearest != null ? ring : foundRing,
+                    pending);
+            }));
+    }
+
+
+    /**
+     * This method finds the nearest safe location in given chunk. It is called from search threads.
+     *
+     * @param search Search parameters.
+     * @param snapshot Chunk snapshot.
+     * @return The nearest safe location in chunk or {@code null} if there is none.
+     */
+    @Nullable
+    private Candidate searchChunk(Search search, ChunkSnapshot snapshot)
+    {
+        Candidate best = null;
+
+        for (int x = 0; x < 16; x++)
+        {
+            int blockX = (snapshot.getX() << 4) + x;
+
+            if (blockX < search.minX() || blockX >= search.maxX())
+            {
+                continue;
+            }
+
+            for (int z = 0; z < 16; z++)
+            {
+                int blockZ = (snapshot.getZ() << 4) + z;
+
+                if (blockZ < search.minZ() || blockZ >= search.maxZ())
+                {
+                    continue;
+                }
+
+                long dx = blockX - search.start().x();
+                long dz = blockZ - search.start().z();
+                long horizontal = dx * dx + dz * dz;
+
+                if (best != null && horizontal >= best.distance())
+                {
+                    // Column cannot contain closer location.
+                    continue;
+                }
+
+                int top = Math.min(snapshot.getHighestBlockYAt(x, z) + 1, search.maxHeight() - 2);
+
+                for (int y = top; y > search.minHeight(); y--)
+                {
+                    if (this.validator.isSafe(search.world(),
+                        snapshot,
+                        x,
+                        y,
+                        z,
+                        search.minHeight(),
+                        search.maxHeight()))
+                    {
+                        long dy = y - search.start().y();
+                        long distance = horizontal + dy * dy;
+
+                        if (best == null || distance < best.distance())
+                        {
+                            best = new Candidate(blockX, y, blockZ, distance);
+                        }
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+
+    /**
+     * This method completes search.
+     *
+     * @param search Search parameters.
+     * @param best The nearest safe location or {@code null} if there is none.
+     * @param pending Search that is completed with found location.
+     */
+    private void finish(Search search, @Nullable Candidate best, PendingSearch pending)
+    {
+        BlockPosition spot = best == null ? null : new BlockPosition(search.world(), best.x(), best.y(), best.z());
+
+        // Blocks could be changed while they were searched. Such result is not cached.
+        if (this.pendingSearches.remove(search.islandId(), pending))
+        {
+            this.spotMap.put(search.islandId(), new FoundSpot(search.start(), spot, System.currentTimeMillis()));
+        }
+
+        pending.spot().complete(spot);
+    }
+
+
+    /**
+     * This method converts block position to teleport location.
+     *
+     * @param spot Block position or {@code null}.
+     * @param start Start location which direction is used.
+     * @return Location in the center of the block or {@code null} if there is no block position.
+     */
+    @Nullable
+    private Location toLocation(@Nullable BlockPosition spot, Location start)
+    {
+        if (spot == null)
+        {
+            return null;
+        }
+
+        return new Location(spot.world(),
+            spot.x() + 0.5,
+            spot.y(),
+            spot.z() + 0.5,
+            start.getYaw(),
+            start.getPitch());
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This record stores search parameters. It is read by search threads.
+     *
+     * @param islandId Island unique id.
+     * @param world World of the island.
+     * @param start Start position.
+     * @param minX Minimal protected X coordinate.
+     * @param maxX Maximal protected X coordinate, exclusive.
+     * @param minZ Minimal protected Z coordinate.
+     * @param maxZ Maximal protected Z coordinate, exclusive.
+     * @param minHeight Minimal world height.
+     * @param maxHeight Maximal world height.
+     * @param maxRing The last ring that contains protected area.
+     */
+    private record Search(String islandId,
+                          World world,
+                          BlockPosition start,
+                          int minX,
+                          int maxX,
+                          int minZ,
+                          int maxZ,
+                          int minHeight,
+                          int maxHeight,
+                          int maxRing)
+    {
+        /**
+         * This method checks if given chunk contains protected area.
+         *
+         * @param x Chunk X coordinate.
+         * @param z Chunk Z coordinate.
+         * @return {@code true} if chunk overlaps protected area, {@code false} otherwise.
+         */
+        private boolean containsChunk(int x, int z)
+        {
+            return (x << 4) < this.maxX && (x << 4) + 16 > this.minX &&
+                (z << 4) < this.maxZ && (z << 4) + 16 > this.minZ;
+        }
+    }
+
+
+    /**
+     * This record stores safe location found by search thread.
+     *
+     * @param x Block X coordinate.
+     * @param y Block Y coordinate.
+     * @param z Block Z coordinate.
+     * @param distance Squared distance to start position.
+     */
+    private record Candidate(int x, int y, int z, long distance) {}
+
+
+    /**
+     * This record stores cached search result.
+     *
+     * @param start Start position of the search.
+     * @param spot Found safe position or {@code null} if there is none.
+     * @param time Time when search was finished.
+     */
+    private record FoundSpot(BlockPosition start, @Nullable BlockPosition spot, long time) {}
+
+
+    /**
+     * This record stores search in progress.
+     *
+     * @param start Start position of the search.
+     * @param spot Future that is completed with found safe position or {@code null} if there is none.
+     */
+    private record PendingSearch(BlockPosition start, CompletableFuture<BlockPosition> spot) {}
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Number of milliseconds after which cached search result expires.
+     */
+    private static final long CACHE_LIFETIME = 60000L;
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Validator that provides chunk snapshots.
+     */
+    private final SpawnSafetyValidator validator;
+
+    /**
+     * Pool that searches chunks in parallel.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Map that links island unique id with the last found safe location.
+     */
+    private final Map<String, FoundSpot> spotMap;
+
+    /**
+     * Map that links island unique id with search in progress.
+     */
+    private final Map<String, PendingSearch> pendingSearches;
+}
@@ -0,0 +1,247 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.*;
+import org.jetbrains.annotations.NotNull;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.bentobox.util.Util;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class checks if island spawn point is safe for teleportation. Blocks are copied into chunk snapshot on the main
+ * thread, checked on a worker thread with the same rules as BentoBox safe spot check, and the result is returned to
+ * the main thread.
+ * <p>
+ * The last spawn point that was found safe is cached for each island. Cache is invalidated when blocks around the
+ * spawn point are changed, so repeated visits do not check the same blocks again. Some block changes do not fire
+ * events, so cached result also expires after a short time.
+ * <p>
+ * Methods of this class must be called from the main thread. Returned futures are completed on the main thread.
+ */
+public class SpawnSafetyValidator
+{
+    /**
+     * Constructor SpawnSafetyValidator creates a new SpawnSafetyValidator instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public SpawnSafetyValidator(VisitAddon addon)
+    {
+        this.addon = addon;
+        this.safeSpawnMap = new HashMap<>();
+        this.pendingChecks = new HashMap<>();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method checks if given spawn location of given island is safe.
+     *
+     * @param island Island which spawn point is checked.
+     * @param location Location that must be checked.
+     * @return Future that completes on the main thread with {@code true} if location is safe, {@code false}
+     * otherwise.
+     */
+    public CompletableFuture<Boolean> isSafe(@NotNull Island island, @NotNull Location location)
+    {
+        World world = location.getWorld();
+
+        if (world == null)
+        {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        BlockPosition position = BlockPosition.of(location);
+
+        SafeSpawn cached = this.safeSpawnMap.get(island.getUniqueId());
+
+        if (cached != null &&
+            cached.position().equals(position) &&
+            System.currentTimeMillis() - cached.time() < CACHE_LIFETIME)
+        {
+            // Spawn point was checked before and nothing was changed around it.
+            return CompletableFuture.completedFuture(true);
+        }
+
+        this.pendingChecks.put(island.getUniqueId(), position);
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        this.getSnapshot(world, position.x() >> 4, position.z() >> 4, false).
+            thenApplyAsync(snapshot -> this.isSafe(world,
+                snapshot,
+                position.x() & 0xF,
+                position.y(),
+                position.z() & 0xF,
+                world.getMinHeight(),
+                world.getMaxHeight())).
+            whenComplete((safe, throwable) -> Bukkit.getScheduler().runTask(this.addon.getPlugin(), () -> {
+                boolean isSafe = throwable == null && safe;
+
+                // Blocks could be changed while they were checked. Such result is not cached.
+                if (this.pendingChecks.remove(island.getUniqueId(), position) && isSafe)
+                {
+                    this.safeSpawnMap.put(island.getUniqueId(), new SafeSpawn(position, System.currentTimeMillis()));
+                }
+
+                result.complete(isSafe);
+            }));
+
+        return result;
+    }
+
+
+    /**
+     * This method invalidates cached result of spawn point which neighborhood contains given block.
+     *
+     * @param island Island where block was changed.
+     * @param world World of changed block.
+     * @param x Block X coordinate.
+     * @param y Block Y coordinate.
+     * @param z Block Z coordinate.
+     */
+    public void invalidate(@NotNull Island island, @NotNull World world, int x, int y, int z)
+    {
+        SafeSpawn cached = this.safeSpawnMap.get(island.getUniqueId());
+
+        if (cached != null && cached.position().isNear(world, x, y, z))
+        {
+            this.safeSpawnMap.remove(island.getUniqueId());
+        }
+
+        BlockPosition position = this.pendingChecks.get(island.getUniqueId());
+
+        if (position != null && position.isNear(world, x, y, z))
+        {
+            this.pendingChecks.remove(island.getUniqueId());
+        }
+    }
+
+
+    /**
+     * This method invalidates cached result of given island.
+     *
+     * @param island Island which result must be removed.
+     */
+    public void invalidate(@NotNull Island island)
+    {
+        this.safeSpawnMap.remove(island.getUniqueId());
+        this.pendingChecks.remove(island.getUniqueId());
+    }
+
+
+    /**
+     * This method checks if given block position in chunk snapshot is safe for teleportation. Ground, feet and head
+     * blocks are read from snapshot and checked by BentoBox. It can be called from any thread.
+     *
+     * @param world World of the chunk.
+     * @param snapshot Chunk snapshot.
+     * @param x Block X coordinate inside chunk.
+     * @param y Block Y coordinate.
+     * @param z Block Z coordinate inside chunk.
+     * @param minHeight Minimal world height.
+     * @param maxHeight Maximal world height.
+     * @return {@code true} if player can stand at given position, {@code false} otherwise.
+     */
+    boolean isSafe(World world, ChunkSnapshot snapshot, int x, int y, int z, int minHeight, int maxHeight)
+    {
+        if (y - 1 < minHeight || y + 1 >= maxHeight)
+        {
+            return false;
+        }
+
+        return this.addon.getIslands().checkIfSafe(world,
+            snapshot.getBlockType(x, y - 1, z),
+            snapshot.getBlockType(x, y, z),
+            snapshot.getBlockType(x, y + 1, z));
+    }
+
+
+    /**
+     * This method returns snapshot of given chunk. Chunk is loaded asynchronously if it is not loaded.
+     *
+     * @param world World of the chunk.
+     * @param x Chunk X coordinate.
+     * @param z Chunk Z coordinate.
+     * @param heightMap Should snapshot contain the highest block heights.
+     * @return Future that completes with chunk snapshot.
+     */
+    CompletableFuture<ChunkSnapshot> getSnapshot(World world, int x, int z, boolean heightMap)
+    {
+        if (world.isChunkLoaded(x, z))
+        {
+            return CompletableFuture.completedFuture(
+                world.getChunkAt(x, z).getChunkSnapshot(heightMap, false, false));
+        }
+
+        CompletableFuture<ChunkSnapshot> result = new CompletableFuture<>();
+
+        Util.getChunkAtAsync(world, x, z).whenComplete((chunk, throwable) -> {
+            if (throwable != null)
+            {
+                result.completeExceptionally(throwable);
+            }
+            else
+            {
+                // Snapshot must be taken on the main thread.
+                Bukkit.getScheduler().runTask(this.addon.getPlugin(),
+                    () -> result.complete(chunk.getChunkSnapshot(heightMap, false, false)));
+            }
+        });
+
+        return result;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This record stores spawn position that was found safe.
+     *
+     * @param position Spawn position.
+     * @param time Time when position was checked.
+     */
+    private record SafeSpawn(BlockPosition position, long time) {}
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Number of milliseconds after which cached safe spawn point is checked again.
+     */
+    private static final long CACHE_LIFETIME = 60000L;
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Map that links island unique id with the last spawn position that was found safe.
+     */
+    private final Map<String, SafeSpawn> safeSpawnMap;
+
+    /**
+     * Map that links island unique id with spawn position that is being checked.
+     */
+    private final Map<String, BlockPosition> pendingChecks;
+}
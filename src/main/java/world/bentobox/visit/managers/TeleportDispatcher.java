@@ -0,0 +1,276 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.utils.Constants;
+import world.bentobox.visit.utils.Utils;
+
+
+/**
+ * This class queues visit teleports and runs them on the main thread, so a burst of visits does not run in the same
+ * tick. Each tick teleports at most configured number of visitors, or as many as fit into configured time budget.
+ * Visitors who are not teleported in the next tick are told their position in the queue, and it is updated every
+ * second while they wait. Visits that are cancelled while waiting are skipped.
+ * <p>
+ * Teleports can be queued from any thread.
+ */
+public class TeleportDispatcher implements Runnable
+{
+    /**
+     * Constructor TeleportDispatcher creates a new TeleportDispatcher instance.
+     *
+     * @param addon Visit addon instance.
+     * @param manager Manager that teleports visitors.
+     */
+    public TeleportDispatcher(VisitAddon addon, VisitAddonManager manager)
+    {
+        this.addon = addon;
+        this.manager = manager;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.queueSize = new AtomicInteger();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method starts dispatch task.
+     */
+    public void start()
+    {
+        if (this.task == null)
+        {
+            this.task = Bukkit.getScheduler().runTaskTimer(this.addon.getPlugin(), this, 1L, 1L);
+        }
+    }
+
+
+    /**
+     * This method stops dispatch task. Visitors who are still in the queue are not teleported.
+     */
+    public void stop()
+    {
+        if (this.task != null)
+        {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        Teleport teleport;
+
+        while ((teleport = this.queue.poll()) != null)
+        {
+            this.queueSize.decrementAndGet();
+            teleport.result.complete(false);
+        }
+    }
+
+
+    /**
+     * This method adds visitor of given visit to the teleport queue.
+     *
+     * @param transaction Visit which visitor must be teleported.
+     * @return Future that completes with {@code true} when user is teleported, or {@code false} if teleportation
+     * was cancelled or failed.
+     */
+    public CompletableFuture<Boolean> dispatch(@NotNull VisitTransaction transaction)
+    {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        this.queue.add(new Teleport(transaction, result));
+        this.queueSize.incrementAndGet();
+
+        return result;
+    }
+
+
+    /**
+     * This method returns number of visitors in the queue.
+     *
+     * @return Number of visitors who wait for teleportation.
+     */
+    public int getQueueSize()
+    {
+        return this.queueSize.get();
+    }
+
+
+    /**
+     * This method teleports queued visitors until tick limit or time budget is reached.
+     */
+    @Override
+    public void run()
+    {
+        if (this.queue.isEmpty())
+        {
+            return;
+        }
+
+        int perTick = this.addon.getSettings().getTeleportsPerTick();
+        long budget = TimeUnit.MILLISECONDS.toNanos(this.addon.getSettings().getTeleportTickBudget());
+        long startTime = System.nanoTime();
+        int count = 0;
+
+        Teleport teleport;
+
+        // At least one visitor is teleported in each tick.
+        while ((count == 0 ||
+            (perTick <= 0 || count < perTick) && (budget <= 0 || System.nanoTime() - startTime < budget)) &&
+            (teleport = this.queue.poll()) != null)
+        {
+            this.queueSize.decrementAndGet();
+
+            User user = teleport.transaction.getUser();
+
+            if (teleport.result.isDone() ||
+                teleport.transaction.getState() != VisitTransaction.State.TELEPORTING ||
+                !user.isOnline())
+            {
+                // Visit timed out or visitor left. Skipped visit does not use the budget.
+                teleport.result.complete(false);
+                continue;
+            }
+
+            try
+            {
+                this.manager.teleport(teleport.transaction, teleport.result);
+            }
+            catch (RuntimeException exception)
+            {
+                this.addon.logError("Could not teleport " + user.getName() + ": " + exception.getMessage());
+                teleport.result.complete(false);
+            }
+
+            count++;
+        }
+
+        this.notifyWaiting();
+    }
+
+
+    /**
+     * This method tells visitors who are still in the queue their position. Position is sent when visitor waits for
+     * the first time, and then every second if it changed.
+     */
+    private void notifyWaiting()
+    {
+        if (this.queue.isEmpty())
+        {
+            this.tick = 0;
+            return;
+        }
+
+        boolean update = ++this.tick % 20 == 0;
+        int position = 0;
+
+        for (Teleport teleport : this.queue)
+        {
+            position++;
+
+            if (teleport.position == 0 || update && teleport.position != position)
+            {
+                teleport.position = position;
+
+                User user = teleport.transaction.getUser();
+                Utils.sendMessage(user,
+                    user.getTranslation(Constants.CONVERSATIONS + "visit-queued",
+                        Constants.PARAMETER_NUMBER, String.valueOf(position)));
+            }
+        }
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This class stores queued teleport.
+     */
+    private static class Teleport
+    {
+        /**
+         * Constructor Teleport creates a new Teleport instance.
+         *
+         * @param transaction Visit which visitor must be teleported.
+         * @param result Future that is completed with teleportation result.
+         */
+        private Teleport(VisitTransaction transaction, CompletableFuture<Boolean> result)
+        {
+            this.transaction = transaction;
+            this.result = result;
+        }
+
+
+        /**
+         * Visit which visitor must be teleported.
+         */
+        private final VisitTransaction transaction;
+
+        /**
+         * Future that is completed with teleportation result.
+         */
+        private final CompletableFuture<Boolean> result;
+
+        /**
+         * The last queue position that was sent to visitor, or {@code 0} if it was not sent. Used only by the main
+         * thread.
+         */
+        private int position;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Manager that teleports visitors.
+     */
+    private final VisitAddonManager manager;
+
+    /**
+     * Visitors who wait for teleportation.
+     */
+    private final Queue<Teleport> queue;
+
+    /**
+     * Number of visitors in the queue, as queue size is not constant time.
+     */
+    private final AtomicInteger queueSize;
+
+    /**
+     * Task that teleports queued visitors.
+     */
+    private BukkitTask task;
+
+    /**
+     * Number of ticks since queue was empty.
+     */
+    private int tick;
+}
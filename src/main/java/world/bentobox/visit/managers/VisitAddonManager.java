@@ -9,22 +9,21 @@ package world.bentobox.visit.managers;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.milkbowl.vault.economy.EconomyResponse;
-import world.bentobox.bank.BankResponse;
-import world.bentobox.bank.data.Money;
 import world.bentobox.bentobox.api.addons.GameModeAddon;
 import world.bentobox.bentobox.api.metadata.MetaDataValue;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.bentobox.util.Util;
-import world.bentobox.bentobox.util.teleport.SafeSpotTeleport;
 import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.economy.EconomyLatency;
 import world.bentobox.visit.events.VisitEvent;
-import world.bentobox.visit.listeners.IslandLeaveListener;
 import world.bentobox.visit.utils.Constants;
 import world.bentobox.visit.utils.Utils;
 
@@ -43,6 +42,28 @@ public class VisitAddonManager
     {
         this.addon = addon;
         this.enabledAddonList = new ArrayList<>(5);
+        this.islandDirectoryMap = new HashMap<>(5);
+        this.pendingIslandUpdates = new LinkedHashSet<>();
+        this.onlineMemberIndex = new OnlineMemberIndex(addon);
+        this.islandButtonCache = new IslandButtonCache(addon);
+        this.visitProfileMap = new HashMap<>();
+        this.balanceCache = new BalanceCache(addon);
+        this.visitorSessionRegistry = new VisitorSessionRegistry(addon);
+        this.earningsAccumulator = new EarningsAccumulator(addon, this);
+        this.paymentJournal = new PaymentJournal(addon, this);
+        this.activeTransactions = ConcurrentHashMap.newKeySet();
+        this.chunkTicketRegistry = new ChunkTicketRegistry(addon);
+        this.chunkPreloader = new ChunkPreloader(addon, this.chunkTicketRegistry);
+        this.spawnSafetyValidator = new SpawnSafetyValidator(addon);
+        this.safeSpotFinder = new SafeSpotFinder(addon, this.spawnSafetyValidator);
+        this.teleportDispatcher = new TeleportDispatcher(addon, this);
+        this.hotIslandTracker = new HotIslandTracker(addon, this.chunkTicketRegistry);
+        this.stageLatencyMap = new EnumMap<>(VisitTransaction.State.class);
+
+        for (VisitTransaction.State state : VisitTransaction.State.values())
+        {
+            this.stageLatencyMap.put(state, new EconomyLatency(state.name().toLowerCase()));
+        }
     }
 
 
@@ -83,10 +104,7 @@ public class VisitAddonManager
     {
         // Check if settings allow offline visiting or any island member is online.
 
-        return this.hasOfflineEnabled(island) ||
-                island.getMemberSet().stream().
-                map(User::getInstance).
-                anyMatch(User::isOnline);
+        return this.hasOfflineEnabled(island) || this.onlineMemberIndex.hasOnlineMembers(island);
     }
 
 
@@ -99,7 +117,7 @@ public class VisitAddonManager
      */
     public boolean hasOfflineEnabled(Island island)
     {
-        return island.getMetaData(Constants.METADATA_OFFLINE).map(MetaDataValue::asBoolean).orElse(this.addon.getSettings().isDefaultVisitingOffline());
+        return this.getVisitProfile(island).isOfflineEnabled();
     }
 
 
@@ -111,19 +129,8 @@ public class VisitAddonManager
      */
     public double getIslandEarnings(Island island)
     {
-        if (this.addon.getSettings().isDisableEconomy() ||
-            this.addon.getVaultHook() == null ||
-            !this.addon.getVaultHook().hook())
-        {
-            // Return 0 if economy is disabled, vault hook does not exist or vault is not hooked int economy.
-            return 0;
-        }
-        else
-        {
-            return island.getMetaData(Constants.METADATA_PAYMENT).
-                map(MetaDataValue::asDouble).
-                orElse(this.addon.getSettings().getDefaultVisitingPayment());
-        }
+        // Return 0 if economy is disabled or is not available.
+        return this.addon.getEconomyBackend().isEnabled() ? this.getVisitProfile(island).getPayment() : 0;
     }
 
 
@@ -143,6 +150,8 @@ public class VisitAddonManager
 
         // Add new value to the metadata.
         island.putMetaData(Constants.METADATA_PAYMENT, new MetaDataValue(payment));
+        this.visitProfileMap.remove(island.getUniqueId());
+        this.islandButtonCache.invalidate(island);
     }
 
 
@@ -162,32 +171,251 @@ public class VisitAddonManager
 
         // Add new value to the metadata.
         island.putMetaData(Constants.METADATA_OFFLINE, new MetaDataValue(newValue));
+        this.visitProfileMap.remove(island.getUniqueId());
+        this.islandButtonCache.invalidate(island);
+    }
+
+
+    /**
+     * This method removes visit metadata from all islands in given world, so default values are used.
+     *
+     * @param world World which island data must be reset.
+     */
+    public void resetIslandData(World world)
+    {
+        this.addon.getIslands().getIslands(world).forEach(island ->
+        {
+            if (island.getMetaData().isPresent())
+            {
+                island.removeMetaData(Constants.METADATA_OFFLINE);
+                island.removeMetaData(Constants.METADATA_PAYMENT);
+            }
+
+            this.visitProfileMap.remove(island.getUniqueId());
+            this.islandButtonCache.invalidate(island);
+        });
+    }
+
+
+    /**
+     * This method removes all cached visit profiles. It must be called when default visit settings are changed.
+     */
+    public void clearVisitProfiles()
+    {
+        this.visitProfileMap.clear();
+    }
+
+
+    /**
+     * This method returns cached visit profile for given island. If profile is not cached, it is created from island
+     * metadata and default values in addon settings.
+     *
+     * @param island Island which profile must be returned.
+     * @return Visit profile of the island.
+     */
+    private VisitProfile getVisitProfile(Island island)
+    {
+        VisitProfile profile = this.visitProfileMap.get(island.getUniqueId());
+
+        if (profile == null)
+        {
+            profile = new VisitProfile(
+                island.getMetaData(Constants.METADATA_PAYMENT).
+                    map(MetaDataValue::asDouble).
+                    orElse(this.addon.getSettings().getDefaultVisitingPayment()),
+                island.getMetaData(Constants.METADATA_OFFLINE).
+                    map(MetaDataValue::asBoolean).
+                    orElse(this.addon.getSettings().isDefaultVisitingOffline()));
+
+            this.visitProfileMap.put(island.getUniqueId(), profile);
+        }
+
+        return profile;
     }
 
 
     // ---------------------------------------------------------------------
-    // Section: VaultHook methods
+    // Section: Island Directory methods
     // ---------------------------------------------------------------------
 
 
     /**
-     * Returns tax amount value.
+     * This method builds island directories for all enabled gamemode worlds.
+     */
+    public void buildIslandDirectories()
+    {
+        this.islandDirectoryMap.clear();
+        this.enabledAddonList.forEach(gameMode -> this.getIslandDirectory(gameMode.getOverWorld()));
+    }
+
+
+    /**
+     * This method returns island directory for given world. If directory does not exist, then it is built.
      *
-     * @return the tax amount
+     * @param world World which island directory must be returned.
+     * @return IslandDirectory for given world.
      */
-    public double getTaxAmount()
+    public IslandDirectory getIslandDirectory(World world)
     {
-        if (this.addon.getSettings().isDisableEconomy() ||
-            this.addon.getVaultHook() == null ||
-            !this.addon.getVaultHook().hook())
+        return this.islandDirectoryMap.computeIfAbsent(Util.getWorld(world), key -> {
+            IslandDirectory directory = new IslandDirectory(this.addon, key);
+            directory.build();
+            return directory;
+        });
+    }
+
+
+    /**
+     * This method returns island directory for given world if it exists. Unlike {@link #getIslandDirectory(World)}
+     * it does not build a new directory, so it can be used for any world.
+     *
+     * @param world World which island directory must be returned.
+     * @return IslandDirectory for given world or {@code null} if world is not enabled gamemode world.
+     */
+    @Nullable
+    public IslandDirectory findIslandDirectory(World world)
+    {
+        return world == null ? null : this.islandDirectoryMap.get(Util.getWorld(world));
+    }
+
+
+    /**
+     * This method returns the onlineMemberIndex value.
+     *
+     * @return the value of onlineMemberIndex.
+     */
+    public OnlineMemberIndex getOnlineMemberIndex()
+    {
+        return this.onlineMemberIndex;
+    }
+
+
+    /**
+     * This method returns the islandButtonCache value.
+     *
+     * @return the value of islandButtonCache.
+     */
+    public IslandButtonCache getIslandButtonCache()
+    {
+        return this.islandButtonCache;
+    }
+
+
+    /**
+     * This method returns the visitorSessionRegistry value.
+     *
+     * @return the value of visitorSessionRegistry.
+     */
+    public VisitorSessionRegistry getVisitorSessionRegistry()
+    {
+        return this.visitorSessionRegistry;
+    }
+
+
+    /**
+     * This method schedules island update in island directory. Updates are processed in the next tick, as BentoBox
+     * events are called before island data is changed.
+     *
+     * @param island Island that must be updated.
+     */
+    public void scheduleIslandUpdate(Island island)
+    {
+        if (island == null || !this.islandDirectoryMap.containsKey(island.getWorld()))
         {
-            // Return 0 if economy is disabled, vault hook does not exist or vault is not hooked int economy.
-            return 0;
+            // Island is not in any tracked world.
+            return;
         }
-        else
+
+        if (this.pendingIslandUpdates.isEmpty())
         {
-            return this.addon.getSettings().getTaxAmount();
+            Bukkit.getScheduler().runTask(this.addon.getPlugin(), this::processIslandUpdates);
         }
+
+        this.pendingIslandUpdates.add(island);
+    }
+
+
+    /**
+     * This method processes all pending island updates.
+     */
+    private void processIslandUpdates()
+    {
+        this.pendingIslandUpdates.forEach(island -> {
+            // Island name, owner or members could be changed.
+            this.islandButtonCache.invalidate(island);
+
+            if (island.isDeleted())
+            {
+                this.visitProfileMap.remove(island.getUniqueId());
+                this.spawnSafetyValidator.invalidate(island);
+                this.safeSpotFinder.invalidate(island);
+                this.hotIslandTracker.remove(island);
+            }
+
+            IslandDirectory directory = this.islandDirectoryMap.get(island.getWorld());
+
+            if (directory != null)
+            {
+                directory.updateIsland(island);
+            }
+
+            // Protection range could be changed. Refresh bounds of visitors on this island.
+            this.visitorSessionRegistry.getSessions().stream().
+                filter(session -> session.getBoundsIsland() == island).
+                forEach(session -> session.updateBounds(island, session.getBoundsWorld()));
+        });
+
+        this.pendingIslandUpdates.clear();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: VaultHook methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Returns tax amount value.
+     *
+     * @return the tax amount
+     */
+    public double getTaxAmount()
+    {
+        // Return 0 if economy is disabled or is not available.
+        return this.addon.getEconomyBackend().isEnabled() ? this.addon.getSettings().getTaxAmount() : 0;
+    }
+
+
+    /**
+     * This method returns the balanceCache value.
+     *
+     * @return the value of balanceCache.
+     */
+    public BalanceCache getBalanceCache()
+    {
+        return this.balanceCache;
+    }
+
+
+    /**
+     * This method returns the earningsAccumulator value.
+     *
+     * @return the value of earningsAccumulator.
+     */
+    public EarningsAccumulator getEarningsAccumulator()
+    {
+        return this.earningsAccumulator;
+    }
+
+
+    /**
+     * This method returns the paymentJournal value.
+     *
+     * @return the value of paymentJournal.
+     */
+    public PaymentJournal getPaymentJournal()
+    {
+        return this.paymentJournal;
     }
 
 
@@ -196,25 +424,11 @@ public class VisitAddonManager
      *
      * @param user Targeted user.
      * @param credits Amount that must be checked.
-     * @return {@code true} if vaultHook is enabled and player has enough credits, {@code false} otherwise
+     * @return {@code true} if economy is disabled or player has enough credits, {@code false} otherwise
      */
     public boolean hasCredits(User user, double credits, World world)
     {
-        if (this.addon.getSettings().isDisableEconomy() || credits <= 0)
-        {
-            return true;
-        }
-        else if (this.addon.getSettings().isUseIslandBank())
-        {
-            return this.addon.getBankHook() == null ||
-                this.addon.getBankHook().getBankManager().getBalance(user, world).getValue() >= credits;
-        }
-        else
-        {
-            return this.addon.getVaultHook() == null ||
-                !this.addon.getVaultHook().hook() ||
-                this.addon.getVaultHook().has(user, credits);
-        }
+        return credits <= 0 || this.addon.getEconomyBackend().has(user, credits, world);
     }
 
 
@@ -230,57 +444,32 @@ public class VisitAddonManager
         CompletableFuture<Boolean> deposit,
         String message)
     {
-        if (this.addon.getSettings().isDisableEconomy() || credits <= 0)
+        // Balance is changed. Cached value is not valid anymore.
+        this.balanceCache.invalidate(user.getUniqueId());
+
+        if (!this.addon.getEconomyBackend().isEnabled() || credits <= 0)
         {
             // Economy is disabled.
             deposit.complete(true);
         }
-        else if (this.addon.getSettings().isUseIslandBank())
-        {
-            // Process bank deposit.
-            if (this.addon.getBankHook() != null)
-            {
-                this.addon.getBankHook().getBankManager().
-                    deposit(user, new Money(credits), world).
-                    whenComplete(((bankResponse, throwable) -> {
-                        if (throwable != null)
-                        {
-                            deposit.completeExceptionally(new Throwable("FAILED_DEPOSIT"));
-                        }
-                        else if (bankResponse == BankResponse.SUCCESS)
-                        {
-                            deposit.complete(true);
-                            Utils.sendMessage(user, message);
-                        }
-                        else
-                        {
-                            deposit.completeExceptionally(new Throwable(bankResponse.name()));
-                        }
-                    }));
-            }
-            else
-            {
-                deposit.completeExceptionally(new Throwable("MISSING_BANK_ADDON"));
-                this.addon.logError("Missing Bank Addon. Cannot proceed with payments.");
-            }
-        }
-        else if (this.addon.getVaultHook() != null && this.addon.getVaultHook().hook())
-        {
-            // Process Vault deposit.
-            if (this.addon.getVaultHook().deposit(user, credits, world).transactionSuccess())
-            {
-                Utils.sendMessage(user, message);
-                deposit.complete(true);
-            }
-            else
-            {
-                deposit.complete(false);
-            }
-        }
         else
         {
-            deposit.completeExceptionally(new Throwable("MISSING_VAULT"));
-            this.addon.logError("Missing Vault Plugin. Cannot proceed with payments.");
+            this.addon.getEconomyBackend().deposit(user, credits, world).
+                whenComplete((value, throwable) -> this.runOnMainThread(() -> {
+                    if (throwable != null)
+                    {
+                        deposit.completeExceptionally(throwable);
+                    }
+                    else if (value)
+                    {
+                        Utils.sendMessage(user, message);
+                        deposit.complete(true);
+                    }
+                    else
+                    {
+                        deposit.complete(false);
+                    }
+                }));
         }
     }
 
@@ -299,57 +488,52 @@ public class VisitAddonManager
         CompletableFuture<Boolean> withdraw,
         String message)
     {
-        if (this.addon.getSettings().isDisableEconomy() || credits <= 0)
+        // Balance is changed. Cached value is not valid anymore.
+        this.balanceCache.invalidate(user.getUniqueId());
+
+        if (!this.addon.getEconomyBackend().isEnabled() || credits <= 0)
         {
             // Economy is disabled.
             withdraw.complete(true);
         }
-        else if (this.addon.getSettings().isUseIslandBank())
+        else
         {
-            // Process bank withdraw.
-            if (this.addon.getBankHook() != null)
-            {
-                this.addon.getBankHook().getBankManager().
-                    withdraw(user, new Money(credits), world).
-                    whenComplete(((bankResponse, throwable) -> {
-                        if (throwable != null)
-                        {
-                            withdraw.completeExceptionally(new Throwable("FAILED_WITHDRAW"));
-                        }
-                        else if (bankResponse == BankResponse.SUCCESS)
-                        {
-                            Utils.sendMessage(user, message);
-                            withdraw.complete(true);
-                        }
-                        else
-                        {
-                            withdraw.completeExceptionally(new Throwable(bankResponse.name()));
-                        }
-                    }));
-            }
-            else
-            {
-                withdraw.completeExceptionally(new Throwable("MISSING_BANK_ADDON"));
-                this.addon.logError("Missing Bank Addon. Cannot proceed with payments.");
-            }
+            this.addon.getEconomyBackend().withdraw(user, credits, world).
+                whenComplete((value, throwable) -> this.runOnMainThread(() -> {
+                    if (throwable != null)
+                    {
+                        withdraw.completeExceptionally(throwable);
+                    }
+                    else if (value)
+                    {
+                        Utils.sendMessage(user, message);
+                        withdraw.complete(true);
+                    }
+                    else
+                    {
+                        withdraw.complete(false);
+                    }
+                }));
         }
-        else if (this.addon.getVaultHook() != null && this.addon.getVaultHook().hook())
+    }
+
+
+    /**
+     * This method runs given economy callback on the main thread. Economy backends can complete their calls on other
+     * threads. When plugin is disabled, callback is run on the calling thread, as scheduler does not run tasks
+     * anymore.
+     *
+     * @param task Callback that must be run.
+     */
+    private void runOnMainThread(Runnable task)
+    {
+        if (Bukkit.isPrimaryThread() || !this.addon.getPlugin().isEnabled())
         {
-            if (this.addon.getVaultHook().withdraw(user, credits, world).transactionSuccess())
-            {
-                Utils.sendMessage(user, message);
-                // Process Vault withdraw.
-                withdraw.complete(true);
-            }
-            else
-            {
-                withdraw.complete(false);
-            }
+            task.run();
         }
         else
         {
-            withdraw.completeExceptionally(new Throwable("MISSING_VAULT"));
-            this.addon.logError("Missing Vault Plugin. Cannot proceed with payments.");
+            Bukkit.getScheduler().runTask(this.addon.getPlugin(), task);
         }
     }
 
@@ -382,7 +566,43 @@ public class VisitAddonManager
      */
     public boolean preprocessTeleportation(User user, Island island, boolean silent)
     {
-        double payment = this.getTaxAmount() + this.getIslandEarnings(island);
+        return this.preprocessTeleportation(user, island, silent, null);
+    }
+
+
+    /**
+     * This method checks if teleportation can be performed. If balance is given, then it is used instead of
+     * requesting user balance from economy. It allows to check many islands with a single balance request.
+     *
+     * @param user Targeted user who need to be teleported.
+     * @param island Island where user need to be teleported.
+     * @param silent Should the message be sent to the player why teleportation is not possible.
+     * @param balance Known user balance or {@code null} if balance must be requested from economy.
+     * @return {@code true} if teleportation can be performed, {@code false} otherwise.
+     */
+    public boolean preprocessTeleportation(User user, Island island, boolean silent, @Nullable Double balance)
+    {
+        return this.preprocessTeleportation(user, island, this.createQuote(island, DEFAULT_QUOTE_VALIDITY), silent, balance);
+    }
+
+
+    /**
+     * This method checks if teleportation can be performed for given visit price.
+     *
+     * @param user Targeted user who need to be teleported.
+     * @param island Island where user need to be teleported.
+     * @param quote Visit price.
+     * @param silent Should the message be sent to the player why teleportation is not possible.
+     * @param balance Known user balance or {@code null} if balance must be requested from economy.
+     * @return {@code true} if teleportation can be performed, {@code false} otherwise.
+     */
+    public boolean preprocessTeleportation(User user,
+        Island island,
+        VisitQuote quote,
+        boolean silent,
+        @Nullable Double balance)
+    {
+        double payment = quote.total();
 
         if (Flags.PREVENT_TELEPORT_WHEN_FALLING.isSetForWorld(user.getWorld()) &&
             user.getPlayer().getFallDistance() > 0)
@@ -430,11 +650,13 @@ public class VisitAddonManager
                     user.getTranslation(Constants.ERRORS + "noone-is-online"));
             }
         }
-        else if (payment > 0 && !this.hasCredits(user, payment, island.getWorld()))
+        else if (payment > 0 && (balance == null ?
+            !this.hasCredits(user, payment, island.getWorld()) :
+            balance < payment))
         {
             if (!silent)
             {
-                if (this.addon.getSettings().isUseIslandBank())
+                if (this.addon.getEconomyBackend().isIslandBank())
                 {
                     // Send a message that player has not enough credits.
                     Utils.sendMessage(user,
@@ -469,146 +691,335 @@ public class VisitAddonManager
      */
     public void processTeleportation(User user, Island island, World world)
     {
-        double earnedMoney = this.getIslandEarnings(island);
-        double payment = earnedMoney + this.getTaxAmount();
+        this.processTeleportation(user, island, world, this.createQuote(island, DEFAULT_QUOTE_VALIDITY));
+    }
 
-        final String paymentMessage;
-        final String receiveMessage;
 
-        if (this.addon.getSettings().isUseIslandBank())
+    /**
+     * This method process user teleportation to the given island and charges given visit price.
+     *
+     * @param user Targeted user who need to be teleported.
+     * @param island Island where user need to be teleported.
+     * @param world World where payment is processed.
+     * @param quote Visit price that user agreed to pay.
+     */
+    public void processTeleportation(User user, Island island, World world, VisitQuote quote)
+    {
+        this.processTeleportation(user, island, world, quote, null);
+    }
+
+
+    /**
+     * This method process user teleportation to the given island and charges given visit price. Given preloaded
+     * chunks are released when visit is finished.
+     *
+     * @param user Targeted user who need to be teleported.
+     * @param island Island where user need to be teleported.
+     * @param world World where payment is processed.
+     * @param quote Visit price that user agreed to pay.
+     * @param preload Chunks that were preloaded for this visit or {@code null}.
+     */
+    public void processTeleportation(User user,
+        Island island,
+        World world,
+        VisitQuote quote,
+        @Nullable ChunkPreloader.Preload preload)
+    {
+        new VisitTransaction(this.addon, this, user, island, world, quote, preload).start();
+    }
+
+
+    /**
+     * This method calculates visit price for given island.
+     *
+     * @param island Island which visit price must be calculated.
+     * @param validity Time in milliseconds how long price is valid.
+     * @return Visit price.
+     */
+    public VisitQuote createQuote(Island island, long validity)
+    {
+        return new VisitQuote(this.getTaxAmount(),
+            this.getIslandEarnings(island),
+            System.currentTimeMillis() + validity);
+    }
+
+
+    /**
+     * This method returns visits that are not finished yet.
+     *
+     * @return Unmodifiable collection of visits in progress.
+     */
+    public Collection<VisitTransaction> getActiveTransactions()
+    {
+        return Collections.unmodifiableCollection(this.activeTransactions);
+    }
+
+
+    /**
+     * This method returns recorded duration of given visit state.
+     *
+     * @param state Visit state.
+     * @return Latency of given state.
+     */
+    public EconomyLatency getStageLatency(VisitTransaction.State state)
+    {
+        return this.stageLatencyMap.get(state);
+    }
+
+
+    /**
+     * This method returns the chunkTicketRegistry value.
+     *
+     * @return the value of chunkTicketRegistry.
+     */
+    public ChunkTicketRegistry getChunkTicketRegistry()
+    {
+        return this.chunkTicketRegistry;
+    }
+
+
+    /**
+     * This method returns the chunkPreloader value.
+     *
+     * @return the value of chunkPreloader.
+     */
+    public ChunkPreloader getChunkPreloader()
+    {
+        return this.chunkPreloader;
+    }
+
+
+    /**
+     * This method returns the spawnSafetyValidator value.
+     *
+     * @return the value of spawnSafetyValidator.
+     */
+    public SpawnSafetyValidator getSpawnSafetyValidator()
+    {
+        return this.spawnSafetyValidator;
+    }
+
+
+    /**
+     * This method returns the safeSpotFinder value.
+     *
+     * @return the value of safeSpotFinder.
+     */
+    public SafeSpotFinder getSafeSpotFinder()
+    {
+        return this.safeSpotFinder;
+    }
+
+
+    /**
+     * This method returns the teleportDispatcher value.
+     *
+     * @return the value of teleportDispatcher.
+     */
+    public TeleportDispatcher getTeleportDispatcher()
+    {
+        return this.teleportDispatcher;
+    }
+
+
+    /**
+     * This method returns the hotIslandTracker value.
+     *
+     * @return the value of hotIslandTracker.
+     */
+    public HotIslandTracker getHotIslandTracker()
+    {
+        return this.hotIslandTracker;
+    }
+
+
+    /**
+     * This method adds visit to the visits in progress.
+     *
+     * @param transaction Started visit.
+     */
+    void addTransaction(VisitTransaction transaction)
+    {
+        this.activeTransactions.add(transaction);
+    }
+
+
+    /**
+     * This method removes visit from the visits in progress.
+     *
+     * @param transaction Finished visit.
+     */
+    void removeTransaction(VisitTransaction transaction)
+    {
+        this.activeTransactions.remove(transaction);
+
+        if (transaction.getPreload() != null)
         {
-            paymentMessage = user.getTranslation(Constants.CONVERSATIONS + "visit-paid-bank",
-                Constants.PARAMETER_PAYMENT, String.valueOf(payment),
-                Constants.PARAMETER_TAX, String.valueOf(this.getTaxAmount()),
-                Constants.PARAMETER_ISLAND, String.valueOf(island.getName()),
-                Constants.PARAMETER_OWNER, this.addon.getPlayers().getName(island.getOwner()),
-                Constants.PARAMETER_RECEIVER, String.valueOf(earnedMoney));
-            receiveMessage = user.getTranslation(Constants.CONVERSATIONS + "visit-earn-bank",
-                Constants.PARAMETER_PAYMENT, String.valueOf(earnedMoney),
-                Constants.PARAMETER_PLAYER, user.getName());
+            // Visit is finished. Its spawn chunks are not needed anymore.
+            this.chunkPreloader.release(transaction.getPreload());
         }
-        else
+    }
+
+
+    /**
+     * Start teleportation sequence. Teleportation is queued, so only a limited number of visitors is teleported in
+     * each tick.
+     *
+     * @param transaction Visit which visitor must be teleported.
+     * @return Future that completes with {@code true} when user is teleported, or {@code false} if teleportation
+     * was cancelled or failed.
+     */
+    CompletableFuture<Boolean> startTeleportation(VisitTransaction transaction)
+    {
+        return this.teleportDispatcher.dispatch(transaction);
+    }
+
+
+    /**
+     * Teleport visitor by firing bukkit event and building safe spot. It must be called from the main thread. If given
+     * future is completed or visit times out before visitor is teleported, teleportation is cancelled.
+     *
+     * @param transaction Visit which visitor must be teleported.
+     * @param result Future that is completed with {@code true} when user is teleported, or {@code false} if
+     * teleportation was cancelled or failed.
+     */
+    void teleport(VisitTransaction transaction, CompletableFuture<Boolean> result)
+    {
+        User user = transaction.getUser();
+        Island island = transaction.getIsland();
+
+        if (result.isDone())
         {
-            paymentMessage = user.getTranslation(Constants.CONVERSATIONS + "visit-paid",
-                Constants.PARAMETER_PAYMENT, String.valueOf(payment),
-                Constants.PARAMETER_TAX, String.valueOf(this.getTaxAmount()),
-                Constants.PARAMETER_ISLAND, String.valueOf(island.getName()),
-                Constants.PARAMETER_OWNER, this.addon.getPlayers().getName(island.getOwner()),
-                Constants.PARAMETER_RECEIVER, String.valueOf(earnedMoney));
-            receiveMessage = user.getTranslation(Constants.CONVERSATIONS + "visit-earn",
-                Constants.PARAMETER_PAYMENT, String.valueOf(earnedMoney),
-                Constants.PARAMETER_PLAYER, user.getName());
+            // Visit timed out.
+            return;
         }
 
-        // Depositing credits into visited island bank account.
-        CompletableFuture<Boolean> deposit = new CompletableFuture<>();
-        deposit.whenComplete((value, throwable) -> {
-            if (throwable != null)
-            {
-                this.depositCredits(user, payment, world, new CompletableFuture<>(),
-                    user.getTranslation(Constants.ERRORS + "cannot-deposit-credits",
-                        Constants.PARAMETER_NUMBER, String.valueOf(payment)));
-            }
-            else if (value)
-            {
-                this.startTeleportation(user, island);
-            }
-        });
+        // Call visit event.
+        VisitEvent event = new VisitEvent(user, island);
+        Bukkit.getPluginManager().callEvent(event);
+
+        // If event is not cancelled, then teleport player.
+        if (!event.isCancelled())
+        {
+            this.hotIslandTracker.recordVisit(island);
+
+            Location location = island.getSpawnPoint(World.Environment.NORMAL);
 
-        // Withdrawing credits from user island bank account.
-        CompletableFuture<Boolean> withdraw = new CompletableFuture<>();
-        withdraw.whenComplete((value, throwable) -> {
-            if (throwable != null || !value)
+            // There is a possibility that location may be out of protected area. These locations should
+            // not be valid for teleporting.
+            IslandDirectory directory = this.findIslandDirectory(island.getWorld());
+
+            if (location != null &&
+                (directory == null ?
+                    island.getProtectionBoundingBox().contains(location.toVector()) :
+                    directory.isInProtectedArea(island, location.getBlockX(), location.getBlockZ())))
             {
-                Utils.sendMessage(user,
-                    user.getTranslation(Constants.ERRORS + "cannot-withdraw-credits",
-                        Constants.PARAMETER_NUMBER, String.valueOf(payment)));
+                // Blocks are checked outside the main thread.
+                this.spawnSafetyValidator.isSafe(island, location).thenAccept(safe -> {
+                    if (!user.isOnline() || result.isDone())
+                    {
+                        result.complete(false);
+                    }
+                    else if (safe)
+                    {
+                        // Teleport player async to island spawn point.
+                        this.teleportAsync(transaction, location, result);
+                    }
+                    else
+                    {
+                        this.teleportToSafeSpot(transaction, location, result);
+                    }
+                });
             }
             else
             {
-                if (earnedMoney > 0 && island.getOwner() != null)
+                this.teleportToSafeSpot(transaction, location, result);
+            }
+
+            // Start visitor session after 1 second.
+            Bukkit.getScheduler().runTaskLater(this.addon.getPlugin(), () -> {
+                if (user.isOnline())
                 {
-                    this.depositCredits(
-                        User.getInstance(island.getOwner()),
-                        earnedMoney,
-                        world,
-                        deposit,
-                        receiveMessage);
+                    this.visitorSessionRegistry.startSession(user.getUniqueId(), island);
                 }
-                else
+            }, 20L);
+
+            if (island.isAllowed(VisitAddon.RECEIVE_VISIT_MESSAGE_FLAG))
+            {
+                // Send message that player is visiting the island.
+                island.getMemberSet().forEach(uuid ->
                 {
-                    deposit.complete(true);
-                }
-            }
-        });
+                    User member = User.getInstance(uuid);
 
-        // Process withdraw.
-        this.withdrawCredits(user, payment, world, withdraw, paymentMessage);
+                    if (member.isOnline())
+                    {
+                        Utils.sendMessage(member,
+                            member.getTranslation(Constants.CONVERSATIONS + "player-visiting-island",
+                                Constants.PARAMETER_PLAYER, user.getName()));
+                    }
+                });
+            }
+        }
+        else
+        {
+            result.complete(false);
+        }
     }
 
 
     /**
-     * Start teleportation sequence by firing bukkit event and building safe spot.
+     * This method teleports user to the nearest safe location around given location, or island protection center.
      *
-     * @param user the user
-     * @param island the island
+     * @param transaction Visit which visitor must be teleported.
+     * @param location Preferred location or {@code null} if island has no spawn point.
+     * @param result Future that is completed with teleportation result.
      */
-    private void startTeleportation(User user, Island island)
+    private void teleportToSafeSpot(VisitTransaction transaction,
+        @Nullable Location location,
+        CompletableFuture<Boolean> result)
     {
-        // Schedule task in next tick, because bank is async task. Event calling can be done only
-        // via main thread.
-        Bukkit.getScheduler().runTask(this.addon.getPlugin(), () -> {
-            // Call visit event.
-            VisitEvent event = new VisitEvent(user, island);
-            Bukkit.getPluginManager().callEvent(event);
+        User user = transaction.getUser();
+        Island island = transaction.getIsland();
 
-            // If event is not cancelled, then teleport player.
-            if (!event.isCancelled())
-            {
-                Location location = island.getSpawnPoint(World.Environment.NORMAL);
-
-                // There is a possibility that location may be out of protected area. These locations should
-                // not be valid for teleporting.
-                if (location != null &&
-                    island.getProtectionBoundingBox().contains(location.toVector()) &&
-                    this.addon.getIslands().isSafeLocation(location))
+        // Chunks are searched outside the main thread.
+        this.safeSpotFinder.find(island, location == null ? island.getProtectionCenter() : location).
+            thenAccept(spot -> {
+                if (!user.isOnline() || result.isDone())
+                {
+                    result.complete(false);
+                }
+                else if (spot == null)
                 {
-                    // Teleport player async to island spawn point.
-                    Util.teleportAsync(user.getPlayer(), location);
+                    user.sendMessage("general.errors.no-safe-location-found");
+                    result.complete(false);
                 }
                 else
                 {
-                    // Use SafeSpotTeleport builder to avoid issues with players spawning in
-                    // bad spot.
-                    new SafeSpotTeleport.Builder(this.addon.getPlugin()).
-                        entity(user.getPlayer()).
-                        location(location == null ? island.getProtectionCenter() : location).
-                        failureMessage(user.getTranslation("general.errors.no-safe-location-found")).
-                        build();
+                    this.teleportAsync(transaction, spot, result);
                 }
+            });
+    }
 
-                // Add visitor to the tracked player set after 1 second.
-                Bukkit.getScheduler().runTaskLater(this.addon.getPlugin(),
-                    () -> IslandLeaveListener.trackedPlayerSet.add(user.getUniqueId()),
-                    20L);
 
-                if (island.isAllowed(VisitAddon.RECEIVE_VISIT_MESSAGE_FLAG))
-                {
-                    // Send message that player is visiting the island.
-                    island.getMemberSet().forEach(uuid ->
-                    {
-                        User member = User.getInstance(uuid);
-
-                        if (member.isOnline())
-                        {
-                            Utils.sendMessage(member,
-                                member.getTranslation(Constants.CONVERSATIONS + "player-visiting-island",
-                                    Constants.PARAMETER_PLAYER, user.getName()));
-                        }
-                    });
-                }
-            }
-        });
+    /**
+     * This method teleports visitor to given location, unless visit timed out. After teleportation is started, visit
+     * cannot time out, so visitor is not refunded for teleportation that finishes.
+     *
+     * @param transaction Visit which visitor must be teleported.
+     * @param location Location where visitor must be teleported.
+     * @param result Future that is completed with teleportation result.
+     */
+    private void teleportAsync(VisitTransaction transaction, Location location, CompletableFuture<Boolean> result)
+    {
+        if (!transaction.startArrival())
+        {
+            // Visit timed out.
+            result.complete(false);
+            return;
+        }
+
+        Util.teleportAsync(transaction.getUser().getPlayer(), location).
+            whenComplete((value, throwable) -> result.complete(throwable == null && value));
     }
 
 
@@ -617,11 +1028,101 @@ public class VisitAddonManager
     // ---------------------------------------------------------------------
 
 
+    /**
+     * Time in milliseconds how long visit price is valid, when it is calculated right before it is used.
+     */
+    private static final long DEFAULT_QUOTE_VALIDITY = 10000L;
+
     /**
      * Local variable that stores all GameMode addons where current addon is enabled.
      */
     private final List<GameModeAddon> enabledAddonList;
 
+    /**
+     * Map that stores sorted island directory for each enabled gamemode world.
+     */
+    private final Map<World, IslandDirectory> islandDirectoryMap;
+
+    /**
+     * Set of islands which directory entry must be updated in the next tick.
+     */
+    private final Set<Island> pendingIslandUpdates;
+
+    /**
+     * Index that stores number of online members for each island.
+     */
+    private final OnlineMemberIndex onlineMemberIndex;
+
+    /**
+     * Cache of viewer independent island button data.
+     */
+    private final IslandButtonCache islandButtonCache;
+
+    /**
+     * Map that links island unique id with its cached visit profile.
+     */
+    private final Map<String, VisitProfile> visitProfileMap;
+
+    /**
+     * Stores short living user balance cache.
+     */
+    private final BalanceCache balanceCache;
+
+    /**
+     * Registry of players who visit islands.
+     */
+    private final VisitorSessionRegistry visitorSessionRegistry;
+
+    /**
+     * Collects island owner earnings that are deposited together.
+     */
+    private final EarningsAccumulator earningsAccumulator;
+
+    /**
+     * Journal of visit payment steps.
+     */
+    private final PaymentJournal paymentJournal;
+
+    /**
+     * Visits that are not finished yet.
+     */
+    private final Set<VisitTransaction> activeTransactions;
+
+    /**
+     * Map that links visit state with its recorded duration.
+     */
+    private final Map<VisitTransaction.State, EconomyLatency> stageLatencyMap;
+
+    /**
+     * Registry that keeps chunks loaded.
+     */
+    private final ChunkTicketRegistry chunkTicketRegistry;
+
+    /**
+     * Loads island spawn chunks before visitor is teleported.
+     */
+    private final ChunkPreloader chunkPreloader;
+
+    /**
+     * Checks island spawn point safety outside the main thread.
+     */
+    private final SpawnSafetyValidator spawnSafetyValidator;
+
+    /**
+     * Searches safe location when island spawn point is missing or unsafe.
+     */
+    private final SafeSpotFinder safeSpotFinder;
+
+    /**
+     * Queues visit teleports, so only a limited number of them runs in each tick.
+     */
+    private final TeleportDispatcher teleportDispatcher;
+
+    /**
+     * Keeps spawn chunks of the most visited islands loaded.
+     */
+    private final HotIslandTracker hotIslandTracker;
+
     /**
      * Reference to main addon class.
      */
@@ -0,0 +1,69 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+/**
+ * This class stores visit settings of a single island as primitive values. Values are read from island metadata
+ * once, with addon settings used for missing values, so checks do not need to parse metadata each time.
+ */
+public class VisitProfile
+{
+    /**
+     * Constructor VisitProfile creates a new VisitProfile instance.
+     *
+     * @param payment Payment for visiting the island.
+     * @param offlineEnabled Indicates if island can be visited while all members are offline.
+     */
+    public VisitProfile(double payment, boolean offlineEnabled)
+    {
+        this.payment = payment;
+        this.offlineEnabled = offlineEnabled;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method returns the payment value.
+     *
+     * @return the value of payment.
+     */
+    public double getPayment()
+    {
+        return this.payment;
+    }
+
+
+    /**
+     * This method returns the offlineEnabled value.
+     *
+     * @return the value of offlineEnabled.
+     */
+    public boolean isOfflineEnabled()
+    {
+        return this.offlineEnabled;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Payment for visiting the island.
+     */
+    private final double payment;
+
+    /**
+     * Indicates if island can be visited while all members are offline.
+     */
+    private final boolean offlineEnabled;
+}
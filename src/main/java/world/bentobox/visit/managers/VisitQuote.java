@@ -0,0 +1,39 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+/**
+ * This record stores visit price that was shown to the visitor. Price is calculated once per visit attempt, and the
+ * same price is charged when visit is paid, even if island earnings or tax are changed in between.
+ *
+ * @param tax Tax amount.
+ * @param earnings Amount that island owner receives.
+ * @param expiry Time in milliseconds after which price is not valid anymore.
+ */
+public record VisitQuote(double tax, double earnings, long expiry)
+{
+    /**
+     * This method returns total amount that visitor pays.
+     *
+     * @return Sum of tax and earnings.
+     */
+    public double total()
+    {
+        return this.tax + this.earnings;
+    }
+
+
+    /**
+     * This method checks if price is not valid anymore.
+     *
+     * @return {@code true} if price is expired, {@code false} otherwise.
+     */
+    public boolean isExpired()
+    {
+        return System.currentTimeMillis() > this.expiry;
+    }
+}
@@ -0,0 +1,654 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import world.bentobox.bentobox.api.user.User;
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.utils.Constants;
+import world.bentobox.visit.utils.Utils;
+
+
+/**
+ * This class processes a single paid visit. Visit moves through explicit states: payment is withdrawn from visitor,
+ * earnings are deposited to island owner and visitor is teleported to the island.
+ * <p>
+ * Each state has a timeout. If payment is not withdrawn in time, visit fails and payment that economy withdraws
+ * later is returned to visitor. Deposit to island owner cannot be cancelled, so visitor is only told that visit is
+ * delayed, and visit continues if deposit finishes within the second timeout. Otherwise, and when teleportation is
+ * not started in time, visit fails and payment is returned to visitor. Started teleportation cannot be cancelled, so
+ * it does not time out. Time spent in each state is recorded.
+ */
+public class VisitTransaction
+{
+    /**
+     * Constructor VisitTransaction creates a new VisitTransaction instance.
+     *
+     * @param addon Visit addon instance.
+     * @param manager Manager that processes payments and teleportation.
+     * @param user Visitor.
+     * @param island Visited island.
+     * @param world World where payment is processed.
+     * @param quote Visit price that visitor agreed to pay.
+     * @param preload Chunks that were preloaded for this visit or {@code null}.
+     */
+    public VisitTransaction(VisitAddon addon,
+        VisitAddonManager manager,
+        User user,
+        Island island,
+        World world,
+        VisitQuote quote,
+        @Nullable ChunkPreloader.Preload preload)
+    {
+        this.addon = addon;
+        this.manager = manager;
+        this.user = user;
+        this.island = island;
+        this.world = world;
+
+        this.quote = quote;
+        this.preload = preload;
+        this.tax = quote.tax();
+        this.earnings = quote.earnings();
+        this.payment = quote.total();
+
+        this.state = State.QUOTED;
+        this.stateStart = System.nanoTime();
+        this.stageLatencyMap = new EnumMap<>(State.class);
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method starts visit by withdrawing payment from visitor.
+     */
+    public void start()
+    {
+        if (this.quote.isExpired())
+        {
+            // Price could be changed since it was shown to the visitor.
+            this.advance(State.QUOTED, State.FAILED);
+            Utils.sendMessage(this.user, this.user.getTranslation(Constants.ERRORS + "visit-quote-expired"));
+            return;
+        }
+
+        PaymentJournal journal = this.manager.getPaymentJournal();
+
+        this.manager.addTransaction(this);
+        this.scheduleTimeout(State.QUOTED);
+
+        // Each payment step is stored in journal before it is started, so payment can be finished after server
+        // crash.
+        if (this.payment > 0 && this.addon.getEconomyBackend().isEnabled())
+        {
+            CompletableFuture<String> begin = journal.begin(this.user.getUniqueId(),
+                this.island.getOwner(),
+                this.world,
+                this.payment,
+                this.earnings);
+
+            journal.whenWritten(begin, () -> {
+                if (begin.isCompletedExceptionally())
+                {
+                    // Payment could not be finished after crash. Do not take it.
+                    if (this.advance(State.QUOTED, State.FAILED))
+                    {
+                        Utils.sendMessage(this.user,
+                            this.user.getTranslation(Constants.ERRORS + "visit-payment-unavailable"));
+                    }
+                }
+                else
+                {
+                    this.journalId = begin.join();
+                    this.withdraw();
+                }
+            });
+        }
+        else
+        {
+            this.withdraw();
+        }
+    }
+
+
+    /**
+     * This method marks that visitor teleportation is started. Visit that timed out is not teleported, and visit that
+     * is teleported does not time out anymore.
+     *
+     * @return {@code true} if visitor can be teleported, {@code false} if visit was cancelled.
+     */
+    boolean startArrival()
+    {
+        return this.advance(State.TELEPORTING, State.ARRIVING);
+    }
+
+
+    /**
+     * This method returns the state value.
+     *
+     * @return the value of state.
+     */
+    public synchronized State getState()
+    {
+        return this.state;
+    }
+
+
+    /**
+     * This method returns the user value.
+     *
+     * @return the value of user.
+     */
+    public User getUser()
+    {
+        return this.user;
+    }
+
+
+    /**
+     * This method returns the quote value.
+     *
+     * @return the value of quote.
+     */
+    public VisitQuote getQuote()
+    {
+        return this.quote;
+    }
+
+
+    /**
+     * This method returns the island value.
+     *
+     * @return the value of island.
+     */
+    public Island getIsland()
+    {
+        return this.island;
+    }
+
+
+    /**
+     * This method returns the preload value.
+     *
+     * @return the value of preload.
+     */
+    @Nullable
+    public ChunkPreloader.Preload getPreload()
+    {
+        return this.preload;
+    }
+
+
+    /**
+     * This method returns how long visit stayed in given state.
+     *
+     * @param state State which duration must be returned.
+     * @return Duration in milliseconds, or {@code -1} if visit has not left given state.
+     */
+    public synchronized double getStageLatency(State state)
+    {
+        Long nanos = this.stageLatencyMap.get(state);
+        return nanos == null ? -1 : nanos / 1_000_000.0;
+    }
+
+
+    /**
+     * This method withdraws payment from visitor.
+     */
+    private void withdraw()
+    {
+        if (this.getState() != State.QUOTED)
+        {
+            // Visit timed out while payment was journaled.
+            this.manager.getPaymentJournal().append(this.journalId, PaymentJournal.Step.FAILED);
+            return;
+        }
+
+        CompletableFuture<Boolean> withdraw = new CompletableFuture<>();
+        withdraw.whenComplete((value, throwable) -> this.onWithdrawn(throwable == null && value));
+
+        this.manager.withdrawCredits(this.user, this.payment, this.world, withdraw, this.getPaymentMessage());
+    }
+
+
+    /**
+     * This method processes withdraw result.
+     *
+     * @param success {@code true} if payment was withdrawn.
+     */
+    private void onWithdrawn(boolean success)
+    {
+        PaymentJournal journal = this.manager.getPaymentJournal();
+
+        if (!success)
+        {
+            journal.append(this.journalId, PaymentJournal.Step.FAILED);
+
+            if (this.advance(State.QUOTED, State.FAILED))
+            {
+                Utils.sendMessage(this.user,
+                    this.user.getTranslation(Constants.ERRORS + "cannot-withdraw-credits",
+                        Constants.PARAMETER_NUMBER, String.valueOf(this.payment)));
+            }
+
+            return;
+        }
+
+        journal.append(this.journalId, PaymentJournal.Step.WITHDRAWN);
+
+        if (!this.advance(State.QUOTED, State.WITHDRAWN))
+        {
+            // Visit timed out before payment was withdrawn. Return it.
+            this.refund(this.user.getTranslation(Constants.ERRORS + "visit-refunded",
+                Constants.PARAMETER_NUMBER, String.valueOf(this.payment)));
+            return;
+        }
+
+        this.scheduleTimeout(State.WITHDRAWN);
+
+        UUID owner = this.island.getOwner();
+
+        if (this.earnings <= 0 || owner == null)
+        {
+            journal.append(this.journalId, PaymentJournal.Step.COMPLETED);
+            this.onDeposited(true);
+        }
+        else if (this.manager.getEarningsAccumulator().isEnabled())
+        {
+            // Owner earnings are deposited later together with other visits.
+            this.manager.getEarningsAccumulator().add(owner, this.world, this.earnings, this.journalId);
+            this.onDeposited(true);
+        }
+        else
+        {
+            CompletableFuture<Boolean> deposit = new CompletableFuture<>();
+            deposit.whenComplete((value, throwable) -> {
+                if (throwable == null && value)
+                {
+                    journal.append(this.journalId, PaymentJournal.Step.COMPLETED);
+                }
+
+                this.onDeposited(throwable == null && value);
+            });
+
+            // Deposit is started only when journal knows about it.
+            journal.whenWritten(journal.append(this.journalId, PaymentJournal.Step.DEPOSITING), () ->
+                this.manager.depositCredits(User.getInstance(owner),
+                    this.earnings,
+                    this.world,
+                    deposit,
+                    this.getReceiveMessage()));
+        }
+    }
+
+
+    /**
+     * This method processes deposit result.
+     *
+     * @param success {@code true} if earnings were deposited to island owner.
+     */
+    private void onDeposited(boolean success)
+    {
+        if (!success)
+        {
+            if (this.advance(State.WITHDRAWN, State.FAILED))
+            {
+                this.manager.getPaymentJournal().append(this.journalId, PaymentJournal.Step.DEPOSIT_FAILED);
+
+                // Owner did not receive earnings. Return payment to visitor.
+                this.refund(this.user.getTranslation(Constants.ERRORS + "cannot-deposit-credits",
+                    Constants.PARAMETER_NUMBER, String.valueOf(this.payment)));
+            }
+        }
+        else if (!this.advance(State.WITHDRAWN, State.DEPOSITED))
+        {
+            // Payment was already returned to visitor, when deposit did not finish in time.
+            this.addon.logError("Visit of " + this.user.getName() + " was refunded, but " + this.earnings +
+                " was deposited to island owner " + this.island.getOwner() + " after timeout.");
+        }
+        else if (this.advance(State.DEPOSITED, State.TELEPORTING))
+        {
+            this.teleport = this.manager.startTeleportation(this);
+            this.scheduleTimeout(State.TELEPORTING);
+
+            this.teleport.whenComplete((value, throwable) -> {
+                if (!this.advance(State.ARRIVING, throwable == null && value ? State.DONE : State.FAILED))
+                {
+                    // Teleportation was not started.
+                    this.advance(State.TELEPORTING, State.FAILED);
+                }
+            });
+        }
+    }
+
+
+    /**
+     * This method returns payment to visitor.
+     *
+     * @param message Message that is sent to visitor when payment is returned.
+     */
+    private void refund(String message)
+    {
+        PaymentJournal journal = this.manager.getPaymentJournal();
+
+        CompletableFuture<Boolean> refund = new CompletableFuture<>();
+        refund.whenComplete((value, throwable) -> {
+            if (throwable != null || !value)
+            {
+                // Refund is retried when journal is replayed.
+                journal.append(this.journalId, PaymentJournal.Step.DEPOSIT_FAILED);
+                this.addon.logError("Could not return " + this.payment + " to " + this.user.getName() + ".");
+            }
+            else
+            {
+                journal.append(this.journalId, PaymentJournal.Step.REFUNDED);
+            }
+        });
+
+        // Refund is started only when journal knows about it.
+        journal.whenWritten(journal.append(this.journalId, PaymentJournal.Step.REFUNDING), () ->
+            this.manager.depositCredits(this.user, this.payment, this.world, refund, message));
+    }
+
+
+    /**
+     * This method moves visit to next state if it is still in expected state.
+     *
+     * @param expected Expected current state.
+     * @param next Next state.
+     * @return {@code true} if state was changed, {@code false} otherwise.
+     */
+    private boolean advance(State expected, State next)
+    {
+        long duration;
+
+        synchronized (this)
+        {
+            if (this.state != expected)
+            {
+                return false;
+            }
+
+            long now = System.nanoTime();
+            duration = now - this.stateStart;
+
+            this.stageLatencyMap.put(expected, duration);
+            this.state = next;
+            this.stateStart = now;
+        }
+
+        this.manager.getStageLatency(expected).record(duration);
+
+        if (next == State.DONE || next == State.FAILED)
+        {
+            this.manager.removeTransaction(this);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * This method schedules timeout of given state.
+     *
+     * @param state State that must be finished in time.
+     */
+    private void scheduleTimeout(State state)
+    {
+        CompletableFuture.delayedExecutor(this.addon.getSettings().getStageTimeout(), TimeUnit.SECONDS).
+            execute(() -> {
+                switch (state)
+                {
+                    case WITHDRAWN -> this.onDepositDelayed();
+                    case TELEPORTING -> this.onTeleportTimeout();
+                    default -> {
+                        if (this.advance(state, State.FAILED))
+                        {
+                            // Payment that is withdrawn later is returned in onWithdrawn.
+                            this.addon.logWarning("Visit of " + this.user.getName() + " timed out at " +
+                                state + " state.");
+
+                            Utils.sendMessage(this.user,
+                                this.user.getTranslation(Constants.ERRORS + "visit-timeout"));
+                        }
+                    }
+                }
+            });
+    }
+
+
+    /**
+     * This method processes deposit to island owner that did not finish in time. Deposit cannot be cancelled, so
+     * visitor is told that visit is delayed. If deposit does not finish within the second timeout, visit fails and
+     * payment is returned to visitor.
+     */
+    private void onDepositDelayed()
+    {
+        if (this.getState() != State.WITHDRAWN)
+        {
+            return;
+        }
+
+        Utils.sendMessage(this.user, this.user.getTranslation(Constants.CONVERSATIONS + "visit-delayed"));
+
+        CompletableFuture.delayedExecutor(this.addon.getSettings().getStageTimeout(), TimeUnit.SECONDS).
+            execute(() -> {
+                if (this.advance(State.WITHDRAWN, State.FAILED))
+                {
+                    this.addon.logWarning("Visit of " + this.user.getName() + " timed out at " +
+                        State.WITHDRAWN + " state. Payment is returned to visitor.");
+
+                    // Payment is owed to visitor. Journal retries refund after crash.
+                    this.manager.getPaymentJournal().append(this.journalId, PaymentJournal.Step.DEPOSIT_FAILED);
+
+                    this.refund(this.user.getTranslation(Constants.ERRORS + "visit-refunded",
+                        Constants.PARAMETER_NUMBER, String.valueOf(this.payment)));
+                }
+            });
+    }
+
+
+    /**
+     * This method processes teleportation that did not start in time. Teleportation is cancelled and payment is
+     * returned to visitor. Visitor who is already being teleported is not refunded.
+     */
+    private void onTeleportTimeout()
+    {
+        if (!this.advance(State.TELEPORTING, State.FAILED))
+        {
+            return;
+        }
+
+        // Queued teleport is not processed anymore.
+        this.teleport.complete(false);
+
+        this.addon.logWarning("Visit of " + this.user.getName() + " timed out at " + State.TELEPORTING + " state.");
+
+        if (this.journalId == null)
+        {
+            // Nothing was paid.
+            Utils.sendMessage(this.user, this.user.getTranslation(Constants.ERRORS + "visit-timeout"));
+            return;
+        }
+
+        PaymentJournal journal = this.manager.getPaymentJournal();
+
+        // Payment is already finished in journal. Refund is journaled as a new payment that is owed to visitor.
+        CompletableFuture<String> refund = journal.beginRefund(this.user.getUniqueId(), this.world, this.payment);
+
+        journal.whenWritten(refund, () -> {
+            this.journalId = refund.isCompletedExceptionally() ? null : refund.join();
+            this.refund(this.user.getTranslation(Constants.ERRORS + "visit-refunded",
+                Constants.PARAMETER_NUMBER, String.valueOf(this.payment)));
+        });
+    }
+
+
+    /**
+     * This method returns message that is sent to visitor when payment is withdrawn.
+     *
+     * @return Payment message.
+     */
+    private String getPaymentMessage()
+    {
+        return this.user.getTranslation(Constants.CONVERSATIONS +
+                (this.addon.getEconomyBackend().isIslandBank() ? "visit-paid-bank" : "visit-paid"),
+            Constants.PARAMETER_PAYMENT, String.valueOf(this.payment),
+            Constants.PARAMETER_TAX, String.valueOf(this.tax),
+            Constants.PARAMETER_ISLAND, String.valueOf(this.island.getName()),
+            Constants.PARAMETER_OWNER, this.addon.getPlayers().getName(this.island.getOwner()),
+            Constants.PARAMETER_RECEIVER, String.valueOf(this.earnings));
+    }
+
+
+    /**
+     * This method returns message that is sent to island owner when earnings are deposited.
+     *
+     * @return Receive message.
+     */
+    private String getReceiveMessage()
+    {
+        return this.user.getTranslation(Constants.CONVERSATIONS +
+                (this.addon.getEconomyBackend().isIslandBank() ? "visit-earn-bank" : "visit-earn"),
+            Constants.PARAMETER_PAYMENT, String.valueOf(this.earnings),
+            Constants.PARAMETER_PLAYER, this.user.getName());
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Classes
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * States of visit.
+     */
+    public enum State
+    {
+        /**
+         * Visit price is known. Payment is being withdrawn from visitor.
+         */
+        QUOTED,
+        /**
+         * Payment is withdrawn. Earnings are being deposited to island owner.
+         */
+        WITHDRAWN,
+        /**
+         * Earnings are deposited or collected for island owner.
+         */
+        DEPOSITED,
+        /**
+         * Visitor waits for teleportation.
+         */
+        TELEPORTING,
+        /**
+         * Visitor is being teleported. Visit cannot time out anymore.
+         */
+        ARRIVING,
+        /**
+         * Visitor is teleported.
+         */
+        DONE,
+        /**
+         * Visit failed or timed out.
+         */
+        FAILED
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Manager that processes payments and teleportation.
+     */
+    private final VisitAddonManager manager;
+
+    /**
+     * Visitor.
+     */
+    private final User user;
+
+    /**
+     * Visited island.
+     */
+    private final Island island;
+
+    /**
+     * World where payment is processed.
+     */
+    private final World world;
+
+    /**
+     * Visit price that visitor agreed to pay.
+     */
+    private final VisitQuote quote;
+
+    /**
+     * Chunks that were preloaded for this visit.
+     */
+    private final ChunkPreloader.Preload preload;
+
+    /**
+     * Tax amount.
+     */
+    private final double tax;
+
+    /**
+     * Amount that island owner receives.
+     */
+    private final double earnings;
+
+    /**
+     * Amount that visitor pays.
+     */
+    private final double payment;
+
+    /**
+     * Map that links state with time in nanoseconds that visit stayed in it.
+     */
+    private final Map<State, Long> stageLatencyMap;
+
+    /**
+     * Payment journal id or {@code null} if payment is not journaled.
+     */
+    private volatile String journalId;
+
+    /**
+     * Teleportation result. It is completed with {@code false} when teleportation is cancelled.
+     */
+    private volatile CompletableFuture<Boolean> teleport;
+
+    /**
+     * Current state.
+     */
+    private State state;
+
+    /**
+     * Time in nanoseconds when current state was reached.
+     */
+    private long stateStart;
+}
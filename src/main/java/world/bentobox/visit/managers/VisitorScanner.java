@@ -0,0 +1,205 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.listeners.IslandLeaveListener;
+
+
+/**
+ * This class checks positions of all visitors in batches instead of reacting to each player move event. Each scan
+ * round takes configured number of ticks, and visitors are split evenly between these ticks, so every tick checks
+ * about the same number of visitors.
+ * <p>
+ * Scanner runs on the main thread and is started only while there are active visitor sessions.
+ */
+public class VisitorScanner implements Runnable
+{
+    /**
+     * Constructor VisitorScanner creates a new VisitorScanner instance.
+     *
+     * @param addon Visit addon instance.
+     * @param registry Registry of visitor sessions.
+     * @param leaveListener Listener that processes visitor moves.
+     */
+    public VisitorScanner(VisitAddon addon, VisitorSessionRegistry registry, IslandLeaveListener leaveListener)
+    {
+        this.addon = addon;
+        this.registry = registry;
+        this.leaveListener = leaveListener;
+        this.queue = new ArrayDeque<>();
+        this.location = new Location(null, 0, 0, 0);
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method starts scanner task.
+     */
+    public void start()
+    {
+        if (this.task == null)
+        {
+            this.tick = 0;
+            this.task = Bukkit.getScheduler().runTaskTimer(this.addon.getPlugin(), this, 1L, 1L);
+        }
+    }
+
+
+    /**
+     * This method stops scanner task.
+     */
+    public void stop()
+    {
+        if (this.task != null)
+        {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        this.queue.clear();
+    }
+
+
+    /**
+     * This method checks if scanner task is running.
+     *
+     * @return {@code true} if scanner is running, {@code false} otherwise.
+     */
+    public boolean isRunning()
+    {
+        return this.task != null;
+    }
+
+
+    /**
+     * This method checks next slice of visitors.
+     */
+    @Override
+    public void run()
+    {
+        int interval = Math.max(1, this.addon.getSettings().getScanInterval());
+
+        if (this.tick++ % interval == 0)
+        {
+            // Start new round. Visitors who started visiting during the round are checked in the next one.
+            this.queue.clear();
+            this.queue.addAll(this.registry.getSessions());
+            this.sliceSize = (this.queue.size() + interval - 1) / interval;
+        }
+
+        for (int i = 0; i < this.sliceSize && this.task != null; i++)
+        {
+            VisitorSession session = this.queue.poll();
+
+            if (session == null)
+            {
+                break;
+            }
+
+            this.scan(session);
+        }
+    }
+
+
+    /**
+     * This method checks current position of given visitor.
+     *
+     * @param session Visitor session.
+     */
+    private void scan(VisitorSession session)
+    {
+        if (this.registry.getSession(session.getVisitor()) != session)
+        {
+            // Session is ended during this round.
+            return;
+        }
+
+        Player player = Bukkit.getPlayer(session.getVisitor());
+
+        if (player == null)
+        {
+            // Player is not online anymore.
+            this.registry.endSession(session.getVisitor());
+            return;
+        }
+
+        // Reuse location object, so reading position does not allocate.
+        player.getLocation(this.location);
+
+        if (session.hasScanPosition())
+        {
+            this.leaveListener.processMove(player,
+                session,
+                session.getScanWorld(),
+                session.getScanX(),
+                session.getScanZ(),
+                this.location.getWorld(),
+                this.location.getBlockX(),
+                this.location.getBlockZ());
+        }
+
+        session.setScanPosition(this.location.getWorld(), this.location.getBlockX(), this.location.getBlockZ());
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Registry of visitor sessions.
+     */
+    private final VisitorSessionRegistry registry;
+
+    /**
+     * Listener that processes visitor moves.
+     */
+    private final IslandLeaveListener leaveListener;
+
+    /**
+     * Visitors that are not checked in current round.
+     */
+    private final Deque<VisitorSession> queue;
+
+    /**
+     * Location object that is reused for reading player positions.
+     */
+    private final Location location;
+
+    /**
+     * Number of visitors that are checked each tick in current round.
+     */
+    private int sliceSize;
+
+    /**
+     * Number of ticks since scanner is started.
+     */
+    private long tick;
+
+    /**
+     * Running scanner task.
+     */
+    private BukkitTask task;
+}
@@ -0,0 +1,255 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import java.util.UUID;
+
+import world.bentobox.bentobox.database.objects.Island;
+
+
+/**
+ * This class stores visited island, visit start time and the last known island protection area bounds for a single
+ * visitor. Bounds are stored as primitive block coordinates, so checking if visitor is still inside the last known
+ * island does not require island lookup.
+ */
+public class VisitorSession
+{
+    /**
+     * Constructor VisitorSession creates a new VisitorSession instance.
+     *
+     * @param visitor Visitor UUID.
+     * @param island Visited island.
+     */
+    public VisitorSession(@NotNull UUID visitor, @NotNull Island island)
+    {
+        this.visitor = visitor;
+        this.island = island;
+        this.startTime = System.currentTimeMillis();
+        this.updateBounds(island, island.getWorld());
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method checks if given block coordinates are inside the last known island protection area.
+     *
+     * @param world World of the block.
+     * @param blockX Block X coordinate.
+     * @param blockZ Block Z coordinate.
+     * @return {@code true} if block is inside protection area, {@code false} otherwise.
+     */
+    public boolean contains(World world, int blockX, int blockZ)
+    {
+        return this.boundsWorld == world &&
+            blockX >= this.minX && blockX < this.maxX &&
+            blockZ >= this.minZ && blockZ < this.maxZ;
+    }
+
+
+    /**
+     * This method stores protection area bounds of given island as the last known visitor island. It must be called
+     * again after island protection range is changed.
+     *
+     * @param island Island where visitor is.
+     * @param world World where visitor is.
+     */
+    public void updateBounds(@NotNull Island island, World world)
+    {
+        this.boundsIsland = island;
+        this.boundsWorld = world;
+        this.minX = island.getMinProtectedX();
+        this.maxX = island.getMaxProtectedX();
+        this.minZ = island.getMinProtectedZ();
+        this.maxZ = island.getMaxProtectedZ();
+    }
+
+
+    /**
+     * This method returns the visitor value.
+     *
+     * @return the value of visitor.
+     */
+    public UUID getVisitor()
+    {
+        return this.visitor;
+    }
+
+
+    /**
+     * This method returns the island value.
+     *
+     * @return the value of island.
+     */
+    public Island getIsland()
+    {
+        return this.island;
+    }
+
+
+    /**
+     * This method returns the startTime value.
+     *
+     * @return the value of startTime.
+     */
+    public long getStartTime()
+    {
+        return this.startTime;
+    }
+
+
+    /**
+     * This method returns island which bounds are stored.
+     *
+     * @return the value of boundsIsland.
+     */
+    public Island getBoundsIsland()
+    {
+        return this.boundsIsland;
+    }
+
+
+    /**
+     * This method returns world of the last known island bounds.
+     *
+     * @return the value of boundsWorld.
+     */
+    public World getBoundsWorld()
+    {
+        return this.boundsWorld;
+    }
+
+
+    /**
+     * This method stores visitor position from the last scan.
+     *
+     * @param world World where visitor is.
+     * @param blockX Block X coordinate.
+     * @param blockZ Block Z coordinate.
+     */
+    public void setScanPosition(World world, int blockX, int blockZ)
+    {
+        this.scanWorld = world;
+        this.scanX = blockX;
+        this.scanZ = blockZ;
+    }
+
+
+    /**
+     * This method checks if visitor position was scanned at least once.
+     *
+     * @return {@code true} if scan position is stored, {@code false} otherwise.
+     */
+    public boolean hasScanPosition()
+    {
+        return this.scanWorld != null;
+    }
+
+
+    /**
+     * This method returns the scanWorld value.
+     *
+     * @return the value of scanWorld.
+     */
+    public World getScanWorld()
+    {
+        return this.scanWorld;
+    }
+
+
+    /**
+     * This method returns the scanX value.
+     *
+     * @return the value of scanX.
+     */
+    public int getScanX()
+    {
+        return this.scanX;
+    }
+
+
+    /**
+     * This method returns the scanZ value.
+     *
+     * @return the value of scanZ.
+     */
+    public int getScanZ()
+    {
+        return this.scanZ;
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Visitor UUID.
+     */
+    private final UUID visitor;
+
+    /**
+     * Visited island.
+     */
+    private final Island island;
+
+    /**
+     * Time when visit started.
+     */
+    private final long startTime;
+
+    /**
+     * The last known island where visitor is.
+     */
+    private Island boundsIsland;
+
+    /**
+     * World of the last known island bounds.
+     */
+    private World boundsWorld;
+
+    /**
+     * Minimal protected X coordinate (inclusive).
+     */
+    private int minX;
+
+    /**
+     * Maximal protected X coordinate (exclusive).
+     */
+    private int maxX;
+
+    /**
+     * Minimal protected Z coordinate (inclusive).
+     */
+    private int minZ;
+
+    /**
+     * Maximal protected Z coordinate (exclusive).
+     */
+    private int maxZ;
+
+    /**
+     * World where visitor was during the last scan.
+     */
+    private World scanWorld;
+
+    /**
+     * Block X coordinate of visitor during the last scan.
+     */
+    private int scanX;
+
+    /**
+     * Block Z coordinate of visitor during the last scan.
+     */
+    private int scanZ;
+}
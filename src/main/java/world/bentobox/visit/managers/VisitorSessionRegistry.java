@@ -0,0 +1,204 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.managers;
+
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import world.bentobox.bentobox.database.objects.Island;
+import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.configs.Settings;
+import world.bentobox.visit.listeners.IslandLeaveListener;
+
+
+/**
+ * This class stores sessions of players who visit islands. Session is started after visitor is teleported to the
+ * island and ended when visitor leaves the island, leaves the server or addon is disabled.
+ * <p>
+ * Island leave listener (or visitor scanner in scan detection mode) is running only while there is at least one
+ * active session, so the addon does not process player move events when nobody visits islands.
+ * <p>
+ * Sessions are stored in concurrent map, so they can be read from any thread. Sessions must be started and ended
+ * from the main thread. Number of sessions is limited by addon settings.
+ */
+public class VisitorSessionRegistry
+{
+    /**
+     * Constructor VisitorSessionRegistry creates a new VisitorSessionRegistry instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public VisitorSessionRegistry(VisitAddon addon)
+    {
+        this.addon = addon;
+        this.sessionMap = new ConcurrentHashMap<>();
+        this.leaveListener = new IslandLeaveListener(addon);
+        this.scanner = new VisitorScanner(addon, this, this.leaveListener);
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method starts a new session for given visitor. Previous visitor session is replaced. If registry is full,
+     * then the oldest session is ended.
+     *
+     * @param visitor Visitor UUID.
+     * @param island Visited island.
+     * @return Started session.
+     */
+    public VisitorSession startSession(@NotNull UUID visitor, @NotNull Island island)
+    {
+        if (!this.sessionMap.containsKey(visitor) &&
+            this.sessionMap.size() >= this.addon.getSettings().getMaxVisitorSessions())
+        {
+            // Registry is full. Remove the oldest session.
+            this.sessionMap.values().stream().
+                min(Comparator.comparingLong(VisitorSession::getStartTime)).
+                ifPresent(session -> this.endSession(session.getVisitor()));
+        }
+
+        VisitorSession session = new VisitorSession(visitor, island);
+        this.sessionMap.put(visitor, session);
+        this.updateTracking();
+        return session;
+    }
+
+
+    /**
+     * This method returns session of given visitor.
+     *
+     * @param visitor Visitor UUID.
+     * @return Visitor session or {@code null} if player is not visiting any island.
+     */
+    @Nullable
+    public VisitorSession getSession(@NotNull UUID visitor)
+    {
+        return this.sessionMap.get(visitor);
+    }
+
+
+    /**
+     * This method returns all active sessions.
+     *
+     * @return Unmodifiable collection of active sessions.
+     */
+    public Collection<VisitorSession> getSessions()
+    {
+        return Collections.unmodifiableCollection(this.sessionMap.values());
+    }
+
+
+    /**
+     * This method ends session of given visitor.
+     *
+     * @param visitor Visitor UUID.
+     * @return Ended session or {@code null} if player was not visiting any island.
+     */
+    @Nullable
+    public VisitorSession endSession(@NotNull UUID visitor)
+    {
+        VisitorSession session = this.sessionMap.remove(visitor);
+        this.updateTracking();
+        return session;
+    }
+
+
+    /**
+     * This method checks if there are any active sessions.
+     *
+     * @return {@code true} if no visitor is tracked, {@code false} otherwise.
+     */
+    public boolean isEmpty()
+    {
+        return this.sessionMap.isEmpty();
+    }
+
+
+    /**
+     * This method ends all sessions.
+     */
+    public void clear()
+    {
+        this.sessionMap.clear();
+        this.updateTracking();
+    }
+
+
+    /**
+     * This method starts visitor tracking if there are active sessions and stops it when there are none. Tracking is
+     * done by island leave listener or by visitor scanner, depending on detection mode in addon settings.
+     */
+    public void updateTracking()
+    {
+        boolean active = !this.sessionMap.isEmpty() && this.addon.getPlugin().isEnabled();
+        boolean scan = this.addon.getSettings().getDetectionMode() == Settings.DetectionMode.SCAN;
+
+        if (this.listenerRegistered && (!active || scan))
+        {
+            HandlerList.unregisterAll(this.leaveListener);
+            this.listenerRegistered = false;
+        }
+
+        if (this.scanner.isRunning() && (!active || !scan))
+        {
+            this.scanner.stop();
+        }
+
+        if (active && scan)
+        {
+            this.scanner.start();
+        }
+        else if (active && !this.listenerRegistered)
+        {
+            Bukkit.getPluginManager().registerEvents(this.leaveListener, this.addon.getPlugin());
+            this.listenerRegistered = true;
+        }
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Map that links visitor UUID with its session.
+     */
+    private final Map<UUID, VisitorSession> sessionMap;
+
+    /**
+     * Listener that detects visitors leaving the island.
+     */
+    private final IslandLeaveListener leaveListener;
+
+    /**
+     * Scanner that checks visitor positions in scan detection mode.
+     */
+    private final VisitorScanner scanner;
+
+    /**
+     * Indicates if leave listener is registered.
+     */
+    private boolean listenerRegistered;
+}
@@ -0,0 +1,292 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+package world.bentobox.visit.panels;
+
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import world.bentobox.bentobox.api.panels.builders.TemplatedPanelBuilder;
+import world.bentobox.bentobox.api.panels.reader.PanelTemplateRecord;
+import world.bentobox.bentobox.api.panels.reader.TemplateReader;
+import world.bentobox.visit.VisitAddon;
+
+
+/**
+ * This class parses panel templates from addon panels folder once and hands out parsed templates to the panels.
+ * Template files are watched with WatchService, and template is parsed again only when its file is changed on disk.
+ * Reload clears TemplateReader cache of all addons, so watching is disabled by default and must be enabled in addon
+ * settings.
+ * <p>
+ * Parsed templates are stored in BentoBox TemplateReader cache, so TemplatedPanelBuilder uses them without reading
+ * the file again.
+ */
+public class PanelTemplateRegistry
+{
+    /**
+     * Constructor PanelTemplateRegistry creates a new PanelTemplateRegistry instance.
+     *
+     * @param addon Visit addon instance.
+     */
+    public PanelTemplateRegistry(VisitAddon addon)
+    {
+        this.addon = addon;
+        this.panelFolder = new File(addon.getDataFolder(), "panels");
+        this.templateMap = new ConcurrentHashMap<>();
+        this.pendingReloads = ConcurrentHashMap.newKeySet();
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Methods
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * This method parses all given templates and starts watching panels folder for file changes, if it is enabled
+     * in addon settings.
+     *
+     * @param templates Names of templates that must be loaded.
+     */
+    public void start(String... templates)
+    {
+        for (String template : templates)
+        {
+            this.templateMap.put(template, Optional.empty());
+            this.load(template);
+        }
+
+        if (!this.addon.getSettings().isWatchPanelTemplates())
+        {
+            return;
+        }
+
+        try
+        {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.panelFolder.toPath().register(this.watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+            this.watchThread = new Thread(this::watch, "Visit-PanelTemplateWatcher");
+            this.watchThread.setDaemon(true);
+            this.watchThread.start();
+        }
+        catch (IOException | UnsupportedOperationException e)
+        {
+            this.addon.logWarning("Could not watch panel templates for changes: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * This method stops watching panels folder.
+     */
+    public void stop()
+    {
+        if (this.watchService != null)
+        {
+            try
+            {
+                this.watchService.close();
+            }
+            catch (IOException ignored)
+            {
+                // Nothing to do. Service is closing anyway.
+            }
+
+            this.watchService = null;
+        }
+
+        this.watchThread = null;
+    }
+
+
+    /**
+     * This method returns parsed template with given name.
+     *
+     * @param template Name of the template.
+     * @return Parsed template or {@code null} if template could not be loaded.
+     */
+    @Nullable
+    public PanelTemplateRecord getTemplate(@NotNull String template)
+    {
+        Optional<PanelTemplateRecord> record = this.templateMap.get(template);
+
+        if (record == null)
+        {
+            // Template is not registered. Register it now.
+            this.templateMap.put(template, Optional.empty());
+            return this.load(template);
+        }
+
+        return record.orElse(null);
+    }
+
+
+    /**
+     * This method applies parsed template to given panel builder.
+     *
+     * @param panelBuilder Panel builder which template must be set.
+     * @param template Name of the template.
+     */
+    public void apply(@NotNull TemplatedPanelBuilder panelBuilder, @NotNull String template)
+    {
+        // Make sure that template is parsed and stored in TemplateReader cache.
+        this.getTemplate(template);
+        panelBuilder.template(template, this.panelFolder);
+    }
+
+
+    /**
+     * This method parses given template and stores it.
+     *
+     * @param template Name of the template.
+     * @return Parsed template or {@code null} if template could not be loaded.
+     */
+    @Nullable
+    private PanelTemplateRecord load(String template)
+    {
+        PanelTemplateRecord record = TemplateReader.readTemplatePanel(template, this.panelFolder);
+
+        if (record == null)
+        {
+            this.addon.logError("Could not load panel template " + template + ".yml");
+        }
+
+        this.templateMap.put(template, Optional.ofNullable(record));
+        return record;
+    }
+
+
+    /**
+     * This method reloads all pending templates. It must be called from the main thread.
+     */
+    private void reloadPending()
+    {
+        if (this.pendingReloads.isEmpty())
+        {
+            return;
+        }
+
+        // TemplateReader does not allow to remove single template from its cache. This clears parsed
+        // templates of all addons, so they parse their panels again when they are opened. This is why
+        // watching can be disabled in settings.
+        TemplateReader.clearPanels();
+
+        this.templateMap.keySet().forEach(template -> {
+            this.load(template);
+
+            if (this.pendingReloads.contains(template))
+            {
+                this.addon.log("Panel template " + template + ".yml reloaded.");
+            }
+        });
+
+        this.pendingReloads.clear();
+    }
+
+
+    /**
+     * This method waits for file changes in panels folder. It runs in separate thread.
+     */
+    private void watch()
+    {
+        WatchService service = this.watchService;
+
+        try
+        {
+            while (service != null)
+            {
+                WatchKey key = service.take();
+
+                for (WatchEvent<?> event : key.pollEvents())
+                {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                    {
+                        // Events are lost. Reload all templates.
+                        this.pendingReloads.addAll(this.templateMap.keySet());
+                        continue;
+                    }
+
+                    String fileName = event.context().toString();
+
+                    if (fileName.endsWith(".yml"))
+                    {
+                        String template = fileName.substring(0, fileName.length() - 4);
+
+                        if (this.templateMap.containsKey(template))
+                        {
+                            this.pendingReloads.add(template);
+                        }
+                    }
+                }
+
+                if (!this.pendingReloads.isEmpty() && this.addon.getPlugin().isEnabled())
+                {
+                    // Editors often write file in several steps. Wait a second before parsing it.
+                    Bukkit.getScheduler().runTaskLater(this.addon.getPlugin(), this::reloadPending, 20L);
+                }
+
+                if (!key.reset())
+                {
+                    // Folder is not accessible anymore.
+                    break;
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ClosedWatchServiceException ignored)
+        {
+            // Registry is stopped.
+        }
+    }
+
+
+    // ---------------------------------------------------------------------
+    // Section: Variables
+    // ---------------------------------------------------------------------
+
+
+    /**
+     * Reference to main addon class.
+     */
+    private final VisitAddon addon;
+
+    /**
+     * Folder that contains panel templates.
+     */
+    private final File panelFolder;
+
+    /**
+     * Map that links template name with parsed template.
+     */
+    private final Map<String, Optional<PanelTemplateRecord>> templateMap;
+
+    /**
+     * Set of templates that must be reloaded.
+     */
+    private final Set<String> pendingReloads;
+
+    /**
+     * Service that watches panels folder.
+     */
+    private WatchService watchService;
+
+    /**
+     * Thread that processes file change events.
+     */
+    private Thread watchThread;
+}
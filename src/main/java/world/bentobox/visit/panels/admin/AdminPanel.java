@@ -11,16 +11,13 @@ import org.bukkit.World;
 import org.bukkit.inventory.ItemStack;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import lv.id.bonne.panelutils.PanelUtils;
 import world.bentobox.bentobox.api.panels.PanelItem;
 import world.bentobox.bentobox.api.panels.builders.PanelBuilder;
 import world.bentobox.bentobox.api.panels.builders.PanelItemBuilder;
 import world.bentobox.bentobox.api.user.User;
-import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.visit.VisitAddon;
 import world.bentobox.visit.configs.Settings;
 import world.bentobox.visit.panels.ConversationUtils;
@@ -123,25 +120,10 @@ public class AdminPanel
 
                 clickHandler = (panel, user, clickType, slot) ->
                 {
-                    // Filter out islands without owner.
-                    // Sort by island and owner name
-
-                    List<Island> islandList = this.addon.getIslands().getIslands(this.world).stream().
-                        filter(Island::isOwned).
-                        sorted((o1, o2) ->
-                        {
-                            String o1Name = o1.getName() != null ? o1.getName() :
-                                User.getInstance(Objects.requireNonNull(o1.getOwner())).getName();
-                            String o2Name = o2.getName() != null ? o2.getName() :
-                                User.getInstance(Objects.requireNonNull(o2.getOwner())).getName();
-
-                            return o1Name.compareToIgnoreCase(o2Name);
-                        }).
-                        collect(Collectors.toList());
-
+                    // Island directory contains only owned islands sorted by island and owner name.
                     // Open Edit panel after user selected island.
                     SelectIslandPanel.open(user,
-                        islandList,
+                        this.addon.getAddonManager().getIslandDirectory(this.world),
                         island -> ConfigurePanel.openPanel(this.addon, island, this.user));
 
                     return true;
@@ -162,14 +144,7 @@ public class AdminPanel
                     {
                         if (value)
                         {
-                            this.addon.getIslands().getIslands(this.world).forEach(island ->
-                            {
-                                if (island.getMetaData().isPresent())
-                                {
-                                    island.removeMetaData(Constants.METADATA_OFFLINE);
-                                    island.removeMetaData(Constants.METADATA_PAYMENT);
-                                }
-                            });
+                            this.addon.getAddonManager().resetIslandData(this.world);
                         }
 
                         this.build();
@@ -238,6 +213,7 @@ public class AdminPanel
                         {
                             this.addon.getSettings().setDefaultVisitingPayment(number.doubleValue());
                             this.addon.saveSettings();
+                            this.addon.getAddonManager().clearVisitProfiles();
                         }
 
                         // reopen panel
@@ -277,6 +253,7 @@ public class AdminPanel
                     this.addon.getSettings().setDefaultVisitingOffline(
                         !this.addon.getSettings().isDefaultVisitingOffline());
                     this.addon.saveSettings();
+                    this.addon.getAddonManager().clearVisitProfiles();
                     this.build();
 
                     return true;
@@ -368,6 +345,8 @@ public class AdminPanel
                             {
                                 this.addon.getSettings().setIslandIcon(block);
                                 this.addon.saveSettings();
+                                // Default icon is stored in cached island buttons.
+                                this.addon.getAddonManager().getIslandButtonCache().clear();
                             }
 
                             this.build();
@@ -400,6 +379,7 @@ public class AdminPanel
                     this.addon.getSettings().setUseIslandBank(
                         !this.addon.getSettings().isUseIslandBank());
                     this.addon.saveSettings();
+                    this.addon.updateEconomyBackend();
                     this.build();
 
                     return true;
@@ -429,6 +409,7 @@ public class AdminPanel
                     this.addon.getSettings().setDisableEconomy(
                         !this.addon.getSettings().isDisableEconomy());
                     this.addon.saveSettings();
+                    this.addon.updateEconomyBackend();
                     this.build();
 
                     return true;
@@ -19,9 +19,10 @@ import world.bentobox.bentobox.api.panels.builders.PanelItemBuilder;
 import world.bentobox.bentobox.api.user.User;
 import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.visit.VisitAddon;
+import world.bentobox.visit.managers.IslandButtonCache;
+import world.bentobox.visit.managers.IslandDirectory;
 import world.bentobox.visit.panels.ConversationUtils;
 import world.bentobox.visit.utils.Constants;
-import world.bentobox.visit.utils.Utils;
 
 
 /**
@@ -33,17 +34,18 @@ public class SelectIslandPanel
      * Defautl constructor object.
      *
      * @param user User who opens Panel
-     * @param inputList Input Island List
+     * @param directory Island directory which islands are displayed.
      * @param consumer Consumer that returns selected island object.
      */
     private SelectIslandPanel(User user,
-        List<Island> inputList,
+        IslandDirectory directory,
         Consumer<Island> consumer)
     {
         this.consumer = consumer;
         this.user = user;
 
-        this.islandList = inputList;
+        this.directory = directory;
+        this.islandList = directory.getIslands();
 
         this.borderBlock = this.createBorderBlock();
         this.updateFilter();
@@ -272,75 +274,36 @@ public class SelectIslandPanel
     private PanelItem createIslandButton(Island island)
     {
         PanelItemBuilder builder = new PanelItemBuilder();
-        User owner = User.getInstance(island.getOwner());
 
-        if (owner == null)
+        if (island.getOwner() == null)
         {
             // return as island has no owner. Empty button will be created.
             return builder.build();
         }
 
-        // Check owner for a specific icon
-        Material material = Material.matchMaterial(
-            Utils.getPermissionValue(owner, "visit.icon",
-                VisitAddon.getInstance().getSettings().getIslandIcon().name()));
+        // Viewer independent part of the button is cached until island data changes.
+        IslandButtonCache.IslandButton cachedButton =
+            VisitAddon.getInstance().getAddonManager().getIslandButtonCache().getButton(island);
 
-        if (material == null)
+        if (cachedButton.getIcon() == Material.PLAYER_HEAD)
         {
-            // Set material to a default icon from settings.
-            material = VisitAddon.getInstance().getSettings().getIslandIcon();
-        }
-
-        if (material == Material.PLAYER_HEAD)
-        {
-            builder.icon(owner.getName());
+            builder.icon(cachedButton.getOwnerName());
         }
         else
         {
-            builder.icon(material);
+            builder.icon(cachedButton.getIcon());
         }
 
         builder.name(this.user.getTranslation(Constants.BUTTONS + "island.name",
-            Constants.PARAMETER_NAME, island.getName() != null ?
-                island.getName() : owner.getName()));
+            Constants.PARAMETER_NAME, cachedButton.getDisplayName()));
 
         // Process Description of the button.
 
         // Generate [owner] text.
-        String ownerText = this.user.getTranslationOrNothing(Constants.BUTTONS + "island.owner",
-            Constants.PARAMETER_PLAYER, owner.getName());
+        String ownerText = cachedButton.getOwnerText(this.user);
 
         // Generate [members] text
-        String memberText;
-
-        if (island.getMemberSet().size() > 1)
-        {
-            StringBuilder memberBuilder = new StringBuilder(
-                this.user.getTranslationOrNothing(Constants.BUTTONS + "island.members-title"));
-
-            for (UUID uuid : island.getMemberSet())
-            {
-                User user = User.getInstance(uuid);
-
-                if (memberBuilder.length() > 0)
-                {
-                    memberBuilder.append("\n");
-                }
-
-                if (user != null)
-                {
-                    memberBuilder.append(
-                        this.user.getTranslationOrNothing(Constants.BUTTONS + "island.member",
-                            Constants.PARAMETER_PLAYER, user.getName()));
-                }
-            }
-
-            memberText = memberBuilder.toString();
-        }
-        else
-        {
-            memberText = "";
-        }
+        String memberText = cachedButton.getMemberText(this.user);
 
         // Generate [noone-online] text
         String nooneOnlineText = "";
@@ -395,13 +358,10 @@ public class SelectIslandPanel
         // Apply searchedString filter.
         if (this.searchString != null && !this.searchString.isEmpty())
         {
+            Set<String> matchingIslands = this.directory.search(this.searchString);
+
             this.elementList = this.islandList.stream().
-                filter(island -> island.getName() == null ||
-                    island.getName().toLowerCase().contains(this.searchString)).
-                filter(island -> island.getMemberSet().stream().
-                    map(User::getInstance).
-                    filter(Objects::nonNull).
-                    anyMatch(user -> user.getName().toLowerCase().contains(this.searchString))).
+                filter(island -> matchingIslands.contains(island.getUniqueId())).
                 collect(Collectors.toList());
         }
         else
@@ -417,12 +377,12 @@ public class SelectIslandPanel
      * Simple warpper around panel.
      *
      * @param user User who opens Panel
-     * @param inputList Input Island List
+     * @param directory Island directory which islands are displayed.
      * @param consumer Consumer that returns selected island object.
      */
-    public static void open(User user, List<Island> inputList, Consumer<Island> consumer)
+    public static void open(User user, IslandDirectory directory, Consumer<Island> consumer)
     {
-        new SelectIslandPanel(user, inputList, consumer).build();
+        new SelectIslandPanel(user, directory, consumer).build();
     }
 
 
@@ -431,6 +391,11 @@ public class SelectIslandPanel
 // ---------------------------------------------------------------------
 
 
+    /**
+     * Island directory which islands are displayed.
+     */
+    private final IslandDirectory directory;
+
     /**
      * List with elements that will be displayed in current GUI.
      */
@@ -9,7 +9,6 @@ package world.bentobox.visit.panels.player;
 import org.bukkit.Material;
 import org.bukkit.event.inventory.ClickType;
 import org.jetbrains.annotations.Nullable;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
@@ -61,7 +60,7 @@ public class ConfigurePanel
         panelBuilder.user(this.user);
         panelBuilder.world(this.island.getWorld());
 
-        panelBuilder.template("manage_panel", new File(this.addon.getDataFolder(), "panels"));
+        this.addon.getTemplateRegistry().apply(panelBuilder, "manage_panel");
 
         panelBuilder.registerTypeBuilder("PAYMENT", this::createValueButton);
         panelBuilder.registerTypeBuilder("OFFLINE", this::createOfflineOnlyButton);
@@ -16,7 +16,6 @@ import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import java.io.File;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -31,6 +30,7 @@ import world.bentobox.bentobox.database.objects.Island;
 import world.bentobox.bentobox.lists.Flags;
 import world.bentobox.visit.VisitAddon;
 import world.bentobox.visit.configs.Settings;
+import world.bentobox.visit.managers.IslandButtonCache;
 import world.bentobox.visit.managers.VisitAddonManager;
 import world.bentobox.visit.panels.ConversationUtils;
 import world.bentobox.visit.utils.Constants;
@@ -70,28 +70,8 @@ public class VisitPanel
 
         this.activeFilter = this.addon.getSettings().getDefaultFilter();
 
-        // Unfortunately, it is necessary to store islands in local list, as there is no
-        // other ways how to get the same island order from hash list :(.
-
-        // Filter out islands without owner.
-        // Filter out locked islands.
-        // Filter out islands with disabled visits flag.
-        // Filter out islands where player is banned.
-
-        // Sort by island and owner name
-
-        this.islandList = this.addon.getIslands().getIslands(world).stream().
-            filter(Island::isOwned).
-            sorted((o1, o2) ->
-            {
-                String o1Name = o1.getName() != null ? o1.getName() :
-                    User.getInstance(o1.getOwner()).getName();
-                String o2Name = o2.getName() != null ? o2.getName() :
-                    User.getInstance(o2.getOwner()).getName();
-
-                return o1Name.compareToIgnoreCase(o2Name);
-            }).
-            collect(Collectors.toList());
+        // Island directory stores all owned islands sorted by island and owner name.
+        this.islandList = this.manager.getIslandDirectory(world).getIslands();
 
         this.updateFilter();
     }
@@ -117,11 +97,14 @@ public class VisitPanel
             return;
         }
 
+        // Request viewer balance once for all island buttons.
+        this.balance = this.manager.getBalanceCache().getBalance(this.user, this.world);
+
         // Start building panel.
         TemplatedPanelBuilder panelBuilder = new TemplatedPanelBuilder();
 
         // Set main template.
-        panelBuilder.template("main_panel", new File(this.addon.getDataFolder(), "panels"));
+        this.addon.getTemplateRegistry().apply(panelBuilder, "main_panel");
         panelBuilder.user(this.user);
         panelBuilder.world(this.user.getWorld());
 
@@ -595,7 +578,9 @@ public class VisitPanel
         }
 
         final String reference = Constants.BUTTONS + "island.";
-        User owner = User.getInstance(island.getOwner());
+
+        // Viewer independent part of the button is cached until island data changes.
+        IslandButtonCache.IslandButton cachedButton = this.manager.getIslandButtonCache().getButton(island);
 
         // Get settings for island.
         PanelItemBuilder builder = new PanelItemBuilder();
@@ -604,82 +589,40 @@ public class VisitPanel
         {
             if (template.icon().getType().equals(Material.PLAYER_HEAD))
             {
-                builder.icon(owner.getName());
+                builder.icon(cachedButton.getOwnerName());
             }
             else
             {
                 builder.icon(template.icon().clone());
             }
         }
+        else if (cachedButton.getIcon() == Material.PLAYER_HEAD)
+        {
+            builder.icon(cachedButton.getOwnerName());
+        }
         else
         {
-            // Check owner for a specific icon
-            Material material = Material.matchMaterial(
-                Utils.getPermissionValue(owner, "visit.icon",
-                    this.addon.getSettings().getIslandIcon().name()));
-
-            if (material == null)
-            {
-                // Set material to a default icon from settings.
-                material = this.addon.getSettings().getIslandIcon();
-            }
-
-            if (material == Material.PLAYER_HEAD)
-            {
-                builder.icon(owner.getName());
-            }
-            else
-            {
-                builder.icon(material);
-            }
+            builder.icon(cachedButton.getIcon());
         }
 
         if (template.title() != null)
         {
             builder.name(this.user.getTranslation(this.world, template.title(),
-                Constants.PARAMETER_NAME, island.getName() != null ?
-                    island.getName() : owner.getName()));
+                Constants.PARAMETER_NAME, cachedButton.getDisplayName()));
         }
         else
         {
             builder.name(this.user.getTranslation(reference + "name",
-                Constants.PARAMETER_NAME, island.getName() != null ?
-                    island.getName() : owner.getName()));
+                Constants.PARAMETER_NAME, cachedButton.getDisplayName()));
         }
 
         // Process Description of the button.
 
         // Generate [owner] text.
-        String ownerText = this.user.getTranslationOrNothing(reference + "owner",
-            Constants.PARAMETER_PLAYER, owner.getName());
+        String ownerText = cachedButton.getOwnerText(this.user);
 
         // Generate [members] text
-        String memberText;
-
-        if (island.getMemberSet().size() > 1)
-        {
-            StringBuilder memberBuilder = new StringBuilder(
-                this.user.getTranslationOrNothing(reference + "members-title"));
-
-            island.getMemberSet().stream().
-                map(this.addon.getPlayers()::getName).
-                forEach(user -> {
-                    if (memberBuilder.length() > 0)
-                    {
-                        memberBuilder.append("\n");
-                    }
-
-                    memberBuilder.append(
-                        this.user.getTranslationOrNothing(reference + "member",
-                            Constants.PARAMETER_PLAYER, user));
-                });
-
-            memberText = memberBuilder.toString();
-        }
-        else
-        {
-            memberText = "";
-        }
+        String memberText = cachedButton.getMemberText(this.user);
 
         // Boolean that indicate if visiting is allowed.
         final boolean canVisit;
@@ -696,7 +639,7 @@ public class VisitPanel
         {
             nooneOnlineText = "";
 
-            canVisit = this.manager.preprocessTeleportation(this.user, island, true);
+            canVisit = this.manager.preprocessTeleportation(this.user, island, true, this.balance);
         }
 
         // Payment for visiting island.
@@ -824,10 +767,8 @@ public class VisitPanel
     {
         switch (this.activeFilter)
         {
-            case ONLINE_ISLANDS -> this.elementList = this.islandList.stream().
-                filter(island -> island.getMemberSet().stream().
-                    map(User::getInstance).
-                    anyMatch(User::isOnline)).
+            case ONLINE_ISLANDS -> this.elementList = this.manager.getIslandDirectory(this.world).
+                sort(this.manager.getOnlineMemberIndex().getOnlineIslands()).stream().
                     filter(island -> {
                         /* If essentials is not hooked, this filter doesn't apply */
                         Essentials essentials = VisitAddon.getInstance().getEssentials();
@@ -858,12 +799,10 @@ public class VisitPanel
         // Apply searchedString filter.
         if (this.searchString != null && !this.searchString.isEmpty())
         {
+            Set<String> matchingIslands = this.manager.getIslandDirectory(this.world).search(this.searchString);
+
             this.elementList = this.elementList.stream().
-                filter(island -> island.getName() == null ||
-                    island.getName().toLowerCase().contains(this.searchString)).
-                filter(island -> island.getMemberSet().stream().
-                    map(User::getInstance).
-                    anyMatch(user -> user.getName().toLowerCase().contains(this.searchString))).
+                filter(island -> matchingIslands.contains(island.getUniqueId())).
                 collect(Collectors.toList());
         }
 
@@ -951,6 +890,11 @@ public class VisitPanel
      */
     private List<Island> elementList;
 
+    /**
+     * This variable stores viewer balance that is used for all island buttons in current render.
+     */
+    private double balance;
+
     /**
      * This variable stores clicked island for the confirmation.
      */
@@ -0,0 +1,259 @@
+//
+// Created by BONNe
+// Copyright - 2026
+//
+
+
+package world.bentobox.visit.utils;
+
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+
+/**
+ * This class is a simple open addressing hash map with primitive long keys. It does not box keys and does not
+ * allocate entry objects, so lookups do not create any garbage.
+ * <p>
+ * Map is not thread safe.
+ *
+ * @param <V> Type of stored values.
+ */
+public class LongObjectMap<V>
+{
+    /**
+     * Constructor LongObjectMap creates a new LongObjectMap instance.
+     *
+     * @param expectedSize Expected number of elements.
+     */
+    public LongObjectMap(int expectedSize)
+    {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+
+// ---------------------------------------------------------------------
+// Section: Methods
+// ---------------------------------------------------------------------
+
+
+    /**
+     * This method returns value that is stored for given key.
+     *
+     * @param key Key.
+     * @return Stored value or {@code null} if key is not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key)
+    {
+        int mask = this.keys.length - 1;
+
+        for (int index = LongObjectMap.hash(key) & mask; this.values[index] != null; index = (index + 1) & mask)
+        {
+            if (this.keys[index] == key)
+            {
+                return (V) this.values[index];
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * This method stores given value for given key.
+     *
+     * @param key Key.
+     * @param value Value, must not be {@code null}.
+     */
+    public void put(long key, V value)
+    {
+        int mask = this.keys.length - 1;
+        int index = LongObjectMap.hash(key) & mask;
+
+        while (this.values[index] != null)
+        {
+            if (this.keys[index] == key)
+            {
+                this.values[index] = value;
+                return;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        this.keys[index] = key;
+        this.values[index] = value;
+
+        if (++this.size * 2 > this.keys.length)
+        {
+            this.resize(this.keys.length * 2);
+        }
+    }
+
+
+    /**
+     * This method removes value for given key.
+     *
+     * @param key Key.
+     */
+    public void remove(long key)
+    {
+        int mask = this.keys.length - 1;
+        int index = LongObjectMap.hash(key) & mask;
+
+        while (this.values[index] != null)
+        {
+            if (this.keys[index] == key)
+            {
+                this.values[index] = null;
+                this.size--;
+
+                // Move following elements back, so lookups do not stop at the removed slot.
+                int next = (index + 1) & mask;
+
+                while (this.values[next] != null)
+                {
+                    long nextKey = this.keys[next];
+                    Object nextValue = this.values[next];
+
+                    this.values[next] = null;
+                    this.size--;
+                    this.put(nextKey, LongObjectMap.<V>cast(nextValue));
+
+                    next = (next + 1) & mask;
+                }
+
+                return;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+
+    /**
+     * This method removes all elements.
+     */
+    public void clear()
+    {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+
+    /**
+     * This method passes each stored key to given consumer. Map must not be modified while keys are iterated.
+     *
+     * @param consumer Key consumer.
+     */
+    public void forEachKey(LongConsumer consumer)
+    {
+        for (int i = 0; i < this.keys.length; i++)
+        {
+            if (this.values[i] != null)
+            {
+                consumer.accept(this.keys[i]);
+            }
+        }
+    }
+
+
+    /**
+     * This method returns number of stored elements.
+     *
+     * @return Number of stored elements.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+
+    /**
+     * This method moves all elements to new arrays with given capacity.
+     *
+     * @param capacity New capacity.
+     */
+    private void resize(int capacity)
+    {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldValues[i] != null)
+            {
+                this.put(oldKeys[i], LongObjectMap.<V>cast(oldValues[i]));
+            }
+        }
+    }
+
+
+    /**
+     * This method casts given object to value type.
+     *
+     * @param value Object.
+     * @param <V> Value type.
+     * @return Cast value.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value)
+    {
+        return (V) value;
+    }
+
+
+    /**
+     * This method mixes key bits, so close coordinates are spread across the table.
+     *
+     * @param key Key.
+     * @return Hash of the key.
+     */
+    private static int hash(long key)
+    {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+
+    /**
+     * This method packs two int coordinates into single long key.
+     *
+     * @param x X coordinate.
+     * @param z Z coordinate.
+     * @return Packed key.
+     */
+    public static long pack(int x, int z)
+    {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+
+// ---------------------------------------------------------------------
+// Section: Variables
+// ---------------------------------------------------------------------
+
+
+    /**
+     * Array of keys.
+     */
+    private long[] keys;
+
+    /**
+     * Array of values. Empty slot has {@code null} value.
+     */
+    private Object[] values;
+
+    /**
+     * Number of stored elements.
+     */
+    private int size;
+}